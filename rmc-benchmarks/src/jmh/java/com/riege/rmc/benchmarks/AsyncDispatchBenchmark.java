@@ -0,0 +1,85 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.bridge.HeadlessTerminalBackend;
+import com.riege.rmc.terminal.command.core.CommandFramework;
+import com.riege.rmc.terminal.logging.MessageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch of an async handler, compared with a synchronous handler.
+ * <p>
+ * {@link #roundTrip()} waits for the handler to complete on the framework's
+ * executor, so it includes the thread handoff. Submitting without waiting is
+ * deliberately not measured: the executor is an unbounded cached pool, and
+ * outrunning it would measure thread creation instead of dispatch.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AsyncDispatchBenchmark {
+
+    private static final String ASYNC_INPUT = "fetch player:Steve";
+    private static final String SYNC_INPUT = "give Steve player:Steve 1";
+
+    @Param({BenchmarkSupport.NO_MIDDLEWARE, BenchmarkSupport.STANDARD_MIDDLEWARE})
+    public String middleware;
+
+    private CommandFramework framework;
+    private HeadlessTerminalBackend terminal;
+    private BenchmarkCommands.Fetch fetch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        terminal = BenchmarkSupport.installHeadlessLogger(MessageType.INFO);
+        framework = BenchmarkSupport.framework(middleware);
+        fetch = BenchmarkSupport.command(framework, "fetch", BenchmarkCommands.Fetch.class);
+
+        roundTrip();
+        BenchmarkSupport.check(fetch.completed.get() == 1, "async handler not invoked");
+        BenchmarkSupport.check(framework.executeCommand(SYNC_INPUT), "sync input rejected");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.check(terminal.getCount(HeadlessTerminalBackend.Kind.ERROR) == 0,
+                "errors were logged while measuring");
+        framework.shutdown();
+    }
+
+    @Benchmark
+    public boolean sync() {
+        return framework.executeCommand(SYNC_INPUT);
+    }
+
+    @Benchmark
+    public long roundTrip() {
+        final long target = fetch.completed.get() + 1;
+        framework.executeCommand(ASYNC_INPUT);
+        long completed;
+        while ((completed = fetch.completed.get()) < target) {
+            Thread.onSpinWait();
+        }
+        return completed;
+    }
+}
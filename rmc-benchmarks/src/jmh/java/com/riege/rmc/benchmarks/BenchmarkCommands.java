@@ -0,0 +1,105 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.annotations.Argument;
+import com.riege.rmc.terminal.command.annotations.Command;
+import com.riege.rmc.terminal.command.annotations.CommandHandler;
+import com.riege.rmc.terminal.command.annotations.Flag;
+import com.riege.rmc.terminal.command.annotations.Option;
+import com.riege.rmc.terminal.command.annotations.SubCommand;
+import com.riege.rmc.terminal.command.core.CommandContext;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Commands covering the representative dispatch shapes.
+ * <p>
+ * Handlers only record what they received, so a benchmark measures the
+ * framework rather than the command body, and a fixture can check that every
+ * input reaches its handler with the expected values before measuring.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class BenchmarkCommands {
+
+    private BenchmarkCommands() {
+    }
+
+    @Command(name = "ping", description = "Sans argument")
+    public static final class Ping {
+        public long calls;
+
+        @CommandHandler
+        public void handle(CommandContext ctx) {
+            calls++;
+        }
+    }
+
+    @Command(name = "give", description = "Arguments positionnels", usage = "give <player> <item> <amount>")
+    public static final class Give {
+        public long calls;
+        public String player;
+        public int amount;
+
+        @CommandHandler
+        public void handle(@Argument(name = "player") String player,
+                           @Argument(name = "item") String item,
+                           @Argument(name = "amount") int amount) {
+            calls++;
+            this.player = player;
+            this.amount = amount;
+        }
+    }
+
+    @Command(name = "ban", description = "Options et drapeaux", usage = "ban <player> [--reason text] [--silent]")
+    public static final class Ban {
+        public long calls;
+        public String reason;
+        public boolean silent;
+
+        @CommandHandler
+        public void handle(@Argument(name = "player") String player,
+                           @Option(name = "reason") String reason,
+                           @Option(name = "duration", defaultValue = "permanent") String duration,
+                           @Flag(name = "silent", shortName = "s") boolean silent) {
+            calls++;
+            this.reason = reason;
+            this.silent = silent;
+        }
+    }
+
+    @Command(name = "region", description = "Sous-commandes imbriquées")
+    public static final class Region {
+
+        @CommandHandler
+        public void handle(CommandContext ctx) {
+        }
+
+        @SubCommand(name = "flag")
+        public static final class Flags {
+
+            @SubCommand(name = "set")
+            public static final class Set {
+                public long calls;
+                public String state;
+
+                @SubCommand(name = "value")
+                public void value(@Argument(name = "flag") String flag, @Argument(name = "state") String state) {
+                    calls++;
+                    this.state = state;
+                }
+            }
+        }
+    }
+
+    @Command(name = "fetch", description = "Gestionnaire asynchrone")
+    public static final class Fetch {
+        public final AtomicLong completed = new AtomicLong();
+
+        @CommandHandler(async = true)
+        public void handle(@Argument(name = "key") String key) {
+            completed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.bridge.HeadlessTerminalBackend;
+import com.riege.rmc.terminal.command.core.CommandFramework;
+import com.riege.rmc.terminal.command.middleware.LoggingMiddleware;
+import com.riege.rmc.terminal.command.middleware.PermissionMiddleware;
+import com.riege.rmc.terminal.command.middleware.ValidationMiddleware;
+import com.riege.rmc.terminal.logging.Logger;
+import com.riege.rmc.terminal.logging.MessageLogger;
+import com.riege.rmc.terminal.logging.MessageType;
+
+/**
+ * Shared setup for the benchmarks.
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class BenchmarkSupport {
+
+    /**
+     * Middleware configurations accepted by {@link #framework(String)}.
+     */
+    public static final String NO_MIDDLEWARE = "none";
+    public static final String STANDARD_MIDDLEWARE = "standard";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Routes all logging to a fresh logger writing to a headless terminal, so
+     * benchmarks measure the framework rather than the console.
+     *
+     * @param level the minimum level kept by the logger
+     * @return the headless terminal, which only counts writes
+     */
+    public static HeadlessTerminalBackend installHeadlessLogger(final MessageType level) {
+        final MessageLogger logger = new MessageLogger(1024);
+        logger.setMinimumLevel(level);
+        return installHeadlessLogger(logger);
+    }
+
+    /**
+     * Installs a logger and routes its output to a headless terminal.
+     *
+     * @param logger the logger, typically backed by the storage engine under test
+     * @return the headless terminal, which only counts writes
+     */
+    public static HeadlessTerminalBackend installHeadlessLogger(final MessageLogger logger) {
+        Logger.setLogger(logger);
+        final HeadlessTerminalBackend terminal = new HeadlessTerminalBackend(0);
+        MessageLogger.setTerminal(terminal);
+        return terminal;
+    }
+
+    /**
+     * Creates a framework with every {@link BenchmarkCommands} command registered.
+     *
+     * @param middleware {@link #NO_MIDDLEWARE}, or {@link #STANDARD_MIDDLEWARE} for
+     *                   the logging, permission and validation chain
+     * @return the framework
+     */
+    public static CommandFramework framework(final String middleware) {
+        final CommandFramework framework = new CommandFramework();
+        switch (middleware) {
+            case NO_MIDDLEWARE:
+                break;
+            case STANDARD_MIDDLEWARE:
+                framework.use(new LoggingMiddleware())
+                        .use(new PermissionMiddleware(framework.getPermissionProvider()))
+                        .use(new ValidationMiddleware());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown middleware configuration: " + middleware);
+        }
+
+        framework.registerCommand(new BenchmarkCommands.Ping());
+        framework.registerCommand(new BenchmarkCommands.Give());
+        framework.registerCommand(new BenchmarkCommands.Ban());
+        framework.registerCommand(new BenchmarkCommands.Region());
+        framework.registerCommand(new BenchmarkCommands.Fetch());
+        return framework;
+    }
+
+    /**
+     * Returns the instance behind a registered command.
+     */
+    public static <T> T command(final CommandFramework framework, final String name, final Class<T> type) {
+        return type.cast(framework.getRegistry().getCommand(name)
+                .orElseThrow(() -> new IllegalStateException("Command not registered: " + name))
+                .getHandlerInstance());
+    }
+
+    /**
+     * Fails the trial when a benchmark fixture does not behave as expected;
+     * measuring the error path by accident would make the numbers meaningless.
+     */
+    public static void check(final boolean condition, final String message) {
+        if (!condition) {
+            throw new IllegalStateException("Benchmark fixture check failed: " + message);
+        }
+    }
+}
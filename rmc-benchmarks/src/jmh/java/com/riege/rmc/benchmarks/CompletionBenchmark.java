@@ -0,0 +1,78 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.core.CommandRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link CommandRegistry#findMatchingCommands(String)}, the tab
+ * completion lookup, by registry size and prefix length.
+ * <p>
+ * A prefix length of {@code 0} is an empty buffer, which lists every
+ * command; longer prefixes are taken from existing names, so each matches at
+ * least one command and, counting aliases, about {@code 1.5 * size / 26^length}
+ * on average. The average match count is printed at setup to put the
+ * timings in context.
+ * </p>
+ * <pre>
+ * ./gradlew :rmc-benchmarks:jmh -Pjmh.includes=CompletionBenchmark
+ * </pre>
+ *
+ * @author riege
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompletionBenchmark {
+
+    private static final int PREFIXES = 256;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    @Param({"0", "1", "2", "3", "5"})
+    public int prefixLength;
+
+    private CommandRegistry registry;
+    private String[] prefixes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SyntheticRegistry synthetic = SyntheticRegistry.generate(size, 42);
+        registry = synthetic.populate();
+        prefixes = synthetic.prefixes(PREFIXES, prefixLength).toArray(new String[0]);
+
+        long matches = 0;
+        for (final String prefix : prefixes) {
+            final List<String> found = registry.findMatchingCommands(prefix);
+            BenchmarkSupport.check(!found.isEmpty(), "no completion for '" + prefix + "'");
+            matches += found.size();
+        }
+        System.out.printf("%n[setup] size=%d prefixLength=%d: %.1f matches per completion%n",
+                size, prefixLength, (double) matches / PREFIXES);
+    }
+
+    @Benchmark
+    public List<String> findMatchingCommands() {
+        next = (next + 1) & (PREFIXES - 1);
+        return registry.findMatchingCommands(prefixes[next]);
+    }
+}
@@ -0,0 +1,144 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.core.CommandInfo;
+import com.riege.rmc.terminal.command.core.CommandRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CommandRegistry} readers running against a writer that keeps
+ * unregistering and registering commands, as during plugin reloads.
+ * <p>
+ * Each group runs three reader threads and one writer thread on a shared
+ * registry. JMH reports the readers and the writer separately. Compare
+ * the readers with {@link RegistryBenchmark} to see how much churn slows
+ * lookups, and the writer with its single-threaded figure to see how much
+ * readers slow writes. The writer only touches its own commands, so reader
+ * lookups always succeed.
+ * </p>
+ * <pre>
+ * ./gradlew :rmc-benchmarks:jmh -Pjmh.includes=ConcurrentRegistryBenchmark
+ * </pre>
+ *
+ * @author riege
+ * @version 1.0
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentRegistryBenchmark {
+
+    private static final int LOOKUPS = 1024;
+    private static final int CHURN = 64;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private CommandRegistry registry;
+    private String[] names;
+    private String[] prefixes;
+    private CommandInfo[] churn;
+
+    /**
+     * Per-thread position in the lookup and churn tables.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next(final int mask) {
+            next = (next + 1) & mask;
+            return next;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SyntheticRegistry synthetic = SyntheticRegistry.generate(size, 42);
+        registry = synthetic.populate();
+
+        names = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            names[i] = synthetic.getNames().get((int) ((long) i * size / LOOKUPS) % size);
+        }
+        prefixes = synthetic.prefixes(LOOKUPS, 2).toArray(new String[0]);
+
+        // Digits never appear in generated names, so churned commands cannot shadow them
+        churn = new CommandInfo[CHURN];
+        for (int i = 0; i < CHURN; i++) {
+            churn[i] = SyntheticRegistry.command("churn" + i, new String[]{"churned" + i}, i % 10);
+            registry.register(churn[i]);
+        }
+    }
+
+    @Benchmark
+    @Group("lookup")
+    @GroupThreads(3)
+    public Optional<CommandInfo> lookupRead(final Cursor cursor) {
+        return registry.getCommand(names[cursor.next(LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    @Group("lookup")
+    @GroupThreads(1)
+    public boolean lookupWrite(final Cursor cursor) {
+        return churn(cursor);
+    }
+
+    @Benchmark
+    @Group("completion")
+    @GroupThreads(3)
+    public List<String> completionRead(final Cursor cursor) {
+        return registry.findMatchingCommands(prefixes[cursor.next(LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    @Group("completion")
+    @GroupThreads(1)
+    public boolean completionWrite(final Cursor cursor) {
+        return churn(cursor);
+    }
+
+    @Benchmark
+    @Group("priority")
+    @GroupThreads(3)
+    public List<CommandInfo> priorityRead() {
+        return registry.getCommandsByPriority();
+    }
+
+    @Benchmark
+    @Group("priority")
+    @GroupThreads(1)
+    public boolean priorityWrite(final Cursor cursor) {
+        return churn(cursor);
+    }
+
+    /**
+     * Unregisters a churn command and registers it again.
+     */
+    private boolean churn(final Cursor cursor) {
+        final CommandInfo command = churn[cursor.next(CHURN - 1)];
+        final boolean removed = registry.unregister(command.getName());
+        registry.register(command);
+        return removed;
+    }
+}
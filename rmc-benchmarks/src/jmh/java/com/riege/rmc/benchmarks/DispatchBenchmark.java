@@ -0,0 +1,124 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.bridge.HeadlessTerminalBackend;
+import com.riege.rmc.terminal.command.core.CommandFramework;
+import com.riege.rmc.terminal.logging.MessageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link CommandFramework#executeCommand(String)} for
+ * synchronous handlers: tokenizing, registry lookup, subcommand resolution,
+ * option parsing, the middleware pipeline and parameter injection.
+ * <p>
+ * Throughput and sampled latency are reported together; run with the GC
+ * profiler (the module default) to get the allocation rate per operation.
+ * </p>
+ * <pre>
+ * ./gradlew :rmc-benchmarks:jmh -Pjmh.includes=DispatchBenchmark
+ * </pre>
+ *
+ * @author riege
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class DispatchBenchmark {
+
+    @Param({"no_args", "positional", "quoted_options", "deep_subcommand"})
+    public String shape;
+
+    @Param({BenchmarkSupport.NO_MIDDLEWARE, BenchmarkSupport.STANDARD_MIDDLEWARE})
+    public String middleware;
+
+    private CommandFramework framework;
+    private HeadlessTerminalBackend terminal;
+    private String input;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        terminal = BenchmarkSupport.installHeadlessLogger(MessageType.INFO);
+        framework = BenchmarkSupport.framework(middleware);
+
+        switch (shape) {
+            case "no_args":
+                input = "ping";
+                break;
+            case "positional":
+                input = "give Steve diamond_sword 64";
+                break;
+            case "quoted_options":
+                input = "ban Griefer --reason \"griefing the spawn area\" --duration 7d --silent";
+                break;
+            case "deep_subcommand":
+                input = "region flag set value pvp deny";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+
+        verify();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.check(terminal.getCount(HeadlessTerminalBackend.Kind.ERROR) == 0,
+                "errors were logged while measuring");
+        framework.shutdown();
+    }
+
+    @Benchmark
+    public boolean execute() {
+        return framework.executeCommand(input);
+    }
+
+    /**
+     * Runs the input once and checks that it reached its handler with the expected values.
+     */
+    private void verify() {
+        BenchmarkSupport.check(framework.executeCommand(input), "'" + input + "' was rejected");
+        switch (shape) {
+            case "no_args":
+                BenchmarkSupport.check(BenchmarkSupport.command(framework, "ping", BenchmarkCommands.Ping.class)
+                        .calls == 1, "ping handler not invoked");
+                break;
+            case "positional":
+                final BenchmarkCommands.Give give = BenchmarkSupport.command(framework, "give", BenchmarkCommands.Give.class);
+                BenchmarkSupport.check(give.calls == 1 && "Steve".equals(give.player) && give.amount == 64,
+                        "positional arguments not injected");
+                break;
+            case "quoted_options":
+                final BenchmarkCommands.Ban ban = BenchmarkSupport.command(framework, "ban", BenchmarkCommands.Ban.class);
+                BenchmarkSupport.check(ban.calls == 1 && "griefing the spawn area".equals(ban.reason) && ban.silent,
+                        "quoted option or flag not parsed");
+                break;
+            case "deep_subcommand":
+                final BenchmarkCommands.Region.Flags.Set set = (BenchmarkCommands.Region.Flags.Set) framework.getRegistry()
+                        .getCommand("region").orElseThrow()
+                        .getSubCommands().get("region flag set value").getInstance();
+                BenchmarkSupport.check(set.calls == 1 && "deny".equals(set.state), "nested subcommand not resolved");
+                break;
+            default:
+                break;
+        }
+        BenchmarkSupport.check(terminal.getCount(HeadlessTerminalBackend.Kind.ERROR) == 0,
+                "'" + input + "' logged an error");
+    }
+}
@@ -0,0 +1,121 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.logging.LogFields;
+import com.riege.rmc.terminal.logging.Message;
+import com.riege.rmc.terminal.logging.MessageStore;
+import com.riege.rmc.terminal.logging.MessageType;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The message history as {@code MessageLogger} kept it before the storage
+ * engines: a {@link LinkedList} guarded by its own monitor, trimmed from the
+ * head after every append, and copied under the lock for snapshots.
+ * <p>
+ * It exists only as the baseline for the logging benchmarks. Like the
+ * original it keeps neither the caller's timestamp nor the structured fields:
+ * the {@link Message} is created with the public constructor, which reads the
+ * clock again.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class LinkedListMessageStore implements MessageStore {
+
+    private final int maxCapacity;
+    private final LinkedList<Message> messages;
+    private long nextSequence;
+
+    public LinkedListMessageStore(final int maxCapacity) {
+        if (maxCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.maxCapacity = maxCapacity;
+        this.messages = new LinkedList<>();
+    }
+
+    @Override
+    public Message append(final String content, final MessageType type, final Instant timestamp,
+                          final LogFields fields) {
+        synchronized (messages) {
+            final Message message = new Message(content, type, nextSequence++);
+            messages.add(message);
+            while (messages.size() > maxCapacity) {
+                messages.removeFirst();
+            }
+            return message;
+        }
+    }
+
+    @Override
+    public Message get(final long sequence) {
+        synchronized (messages) {
+            for (final Message message : messages) {
+                if (message.getSequence() == sequence) {
+                    return message;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public List<Message> recent(final int count) {
+        synchronized (messages) {
+            final List<Message> snapshot = new ArrayList<>(Math.min(count, messages.size()));
+            final Iterator<Message> iterator = messages.listIterator(Math.max(0, messages.size() - count));
+            while (iterator.hasNext()) {
+                snapshot.add(iterator.next());
+            }
+            return snapshot;
+        }
+    }
+
+    @Override
+    public long nextSequence() {
+        synchronized (messages) {
+            return nextSequence;
+        }
+    }
+
+    @Override
+    public long oldestSequence() {
+        synchronized (messages) {
+            return messages.isEmpty() ? nextSequence : messages.getFirst().getSequence();
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (messages) {
+            return messages.size();
+        }
+    }
+
+    @Override
+    public int capacityHint() {
+        return maxCapacity;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (messages) {
+            messages.clear();
+        }
+    }
+
+    @Override
+    public void seed(final long nextSequence) {
+        synchronized (messages) {
+            if (!messages.isEmpty() || this.nextSequence != 0) {
+                throw new IllegalStateException("Cannot seed a store that already holds messages");
+            }
+            this.nextSequence = nextSequence;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.bridge.HeadlessTerminalBackend;
+import com.riege.rmc.terminal.logging.Logger;
+import com.riege.rmc.terminal.logging.Message;
+import com.riege.rmc.terminal.logging.MessageLogger;
+import com.riege.rmc.terminal.logging.MessageRingBuffer;
+import com.riege.rmc.terminal.logging.MessageStore;
+import com.riege.rmc.terminal.logging.MessageType;
+import com.riege.rmc.terminal.logging.PackedMessageStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Logger} under contention, for each message storage engine.
+ * <p>
+ * The {@code log*} benchmarks run 1, 4, 16 and 64 producer threads calling
+ * {@link Logger#info(String)}; sampled latency gives the tail percentiles of
+ * a single call. The {@code snapshot*} groups run 7 or 63 producers next to
+ * one thread taking {@link Logger#getMessages()} snapshots, reporting both
+ * the snapshot cost under load and how much the snapshots slow producers.
+ * </p>
+ * <p>
+ * {@code linked_list} is the synchronized {@code LinkedList} the history
+ * used to be, kept as the baseline in {@link LinkedListMessageStore}. The
+ * packed store is sized to retain about as many of these messages as the
+ * other engines. Output goes to a {@link HeadlessTerminalBackend} that counts
+ * writes without locking, so the terminal does not serialize producers.
+ * </p>
+ * <pre>
+ * ./gradlew :rmc-benchmarks:jmh -Pjmh.includes=LoggingContentionBenchmark
+ * </pre>
+ *
+ * @author riege
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingContentionBenchmark {
+
+    public static final String LINKED_LIST = "linked_list";
+    public static final String RING = "ring";
+    public static final String PACKED = "packed";
+
+    /**
+     * Arena bytes per retained message for the packed store: the 25-byte
+     * record header plus the longest generated message.
+     */
+    private static final int PACKED_BYTES_PER_MESSAGE = 80;
+
+    private static final int MESSAGES = 64;
+
+    @Param({LINKED_LIST, RING, PACKED})
+    public String store;
+
+    @Param({"1000", "10000", "100000"})
+    public int capacity;
+
+    private String[] messages;
+    private HeadlessTerminalBackend terminal;
+
+    /**
+     * Per-thread position in the message table.
+     */
+    @State(Scope.Thread)
+    public static class Producer {
+        private int next;
+
+        String next(final String[] messages) {
+            next = (next + 1) & (MESSAGES - 1);
+            return messages[next];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        messages = new String[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            messages[i] = "Player Steve" + i + " joined world north at " + (1_000_000 + i * 7919) + " ms";
+        }
+
+        final MessageLogger logger = new MessageLogger(createStore());
+        logger.setMinimumLevel(MessageType.INFO);
+        terminal = BenchmarkSupport.installHeadlessLogger(logger);
+
+        Logger.info(messages[0]);
+        final List<Message> history = Logger.getMessages();
+        BenchmarkSupport.check(history.size() == 1 && messages[0].equals(history.get(0).getContent()),
+                "message not retained by the " + store + " store");
+        BenchmarkSupport.check(terminal.getCount(HeadlessTerminalBackend.Kind.INFO) == 1, "message not written");
+        Logger.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkSupport.check(Logger.size() > 0, "nothing was retained");
+        BenchmarkSupport.check(terminal.getCount(HeadlessTerminalBackend.Kind.ERROR) == 0, "errors were written");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void log1(final Producer producer) {
+        Logger.info(producer.next(messages));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void log4(final Producer producer) {
+        Logger.info(producer.next(messages));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void log16(final Producer producer) {
+        Logger.info(producer.next(messages));
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void log64(final Producer producer) {
+        Logger.info(producer.next(messages));
+    }
+
+    @Benchmark
+    @Group("snapshot8")
+    @GroupThreads(7)
+    public void snapshot8Log(final Producer producer) {
+        Logger.info(producer.next(messages));
+    }
+
+    @Benchmark
+    @Group("snapshot8")
+    @GroupThreads(1)
+    public List<Message> snapshot8Read() {
+        return Logger.getMessages();
+    }
+
+    @Benchmark
+    @Group("snapshot64")
+    @GroupThreads(63)
+    public void snapshot64Log(final Producer producer) {
+        Logger.info(producer.next(messages));
+    }
+
+    @Benchmark
+    @Group("snapshot64")
+    @GroupThreads(1)
+    public List<Message> snapshot64Read() {
+        return Logger.getMessages();
+    }
+
+    private MessageStore createStore() {
+        switch (store) {
+            case LINKED_LIST:
+                return new LinkedListMessageStore(capacity);
+            case RING:
+                return new MessageRingBuffer(capacity);
+            case PACKED:
+                return new PackedMessageStore(capacity * PACKED_BYTES_PER_MESSAGE);
+            default:
+                throw new IllegalArgumentException("Unknown store: " + store);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.core.OptionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each tokenizer stage: the {@code split("\\s+")} front end of
+ * {@code CommandFramework}, {@link OptionParser#normalizeQuotes(String[])},
+ * {@link OptionParser#parse(String[])}, {@link OptionParser#parseWithQuotes(String[])}
+ * and all of them together.
+ * <p>
+ * Every invocation takes the next line of a corpus of {@value #CORPUS_SIZE}
+ * generated lines, so branch predictors cannot learn a single input. The
+ * setup checks the current parser against {@link ParserOracle} on the corpus
+ * and the oracle's edge cases; an optimized parser that changes the output
+ * fails the trial instead of reporting a misleading speedup.
+ * </p>
+ * <pre>
+ * ./gradlew :rmc-benchmarks:jmh -Pjmh.includes=OptionParserBenchmark
+ * </pre>
+ *
+ * @author riege
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionParserBenchmark {
+
+    static final int CORPUS_SIZE = 256;
+
+    @Param({"4", "16", "64"})
+    public int tokens;
+
+    @Param({"0.0", "0.3"})
+    public double quoteDensity;
+
+    @Param({ParserInputs.PLAIN, ParserInputs.SHORT_FLAGS, ParserInputs.KEY_VALUE, ParserInputs.UNICODE,
+            ParserInputs.MIXED})
+    public String mix;
+
+    private String[] lines;
+    private String[][] split;
+    private String[][] normalized;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final List<String> corpus = ParserInputs.generate(CORPUS_SIZE, tokens, quoteDensity, mix, 42);
+        ParserOracle.verifyOptionParser(corpus);
+
+        lines = corpus.toArray(new String[0]);
+        split = new String[CORPUS_SIZE][];
+        normalized = new String[CORPUS_SIZE][];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            split[i] = ParserOracle.referenceSplit(lines[i]);
+            normalized[i] = OptionParser.normalizeQuotes(split[i]);
+        }
+    }
+
+    @Benchmark
+    public String[] split() {
+        return lines[next()].trim().split("\\s+");
+    }
+
+    @Benchmark
+    public String[] normalizeQuotes() {
+        return OptionParser.normalizeQuotes(split[next()]);
+    }
+
+    @Benchmark
+    public OptionParser.ParseResult parse() {
+        return OptionParser.parse(normalized[next()]);
+    }
+
+    @Benchmark
+    public OptionParser.ParseResult parseWithQuotes() {
+        return OptionParser.parseWithQuotes(split[next()]);
+    }
+
+    /**
+     * What {@code CommandFramework} and {@code CommandContext} do for every input.
+     */
+    @Benchmark
+    public OptionParser.ParseResult frontEnd() {
+        final String[] parts = lines[next()].trim().split("\\s+");
+        final String[] args = new String[parts.length - 1];
+        System.arraycopy(parts, 1, args, 0, args.length);
+        return OptionParser.parseWithQuotes(args);
+    }
+
+    private int next() {
+        next = (next + 1) & (CORPUS_SIZE - 1);
+        return next;
+    }
+}
@@ -0,0 +1,181 @@
+package com.riege.rmc.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generator of raw command lines for the tokenizer benchmarks.
+ * <p>
+ * A line is a command name followed by about {@code tokens} whitespace
+ * separated tokens. Positional values and option values are quoted
+ * multi-word strings with probability {@code quoteDensity}. The mix selects
+ * which syntax appears besides positional words, {@code --name value} options
+ * and {@code --flag} flags:
+ * </p>
+ * <ul>
+ *     <li>{@code plain}: nothing else</li>
+ *     <li>{@code short_flags}: {@code -v}, combined {@code -abc} and {@code -n 5}</li>
+ *     <li>{@code key_value}: {@code --key=value} instead of {@code --key value}</li>
+ *     <li>{@code unicode}: words with accents, CJK, Cyrillic, Greek and emoji</li>
+ *     <li>{@code mixed}: all of the above</li>
+ * </ul>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class ParserInputs {
+
+    public static final String PLAIN = "plain";
+    public static final String SHORT_FLAGS = "short_flags";
+    public static final String KEY_VALUE = "key_value";
+    public static final String UNICODE = "unicode";
+    public static final String MIXED = "mixed";
+
+    private static final String[] ASCII_WORDS = {
+            "spawn", "Steve", "diamond", "north", "world", "alpha", "beta", "gamma", "42", "x"
+    };
+    private static final String[] UNICODE_WORDS = {
+            "café", "Ünïcödé", "日本語", "привет", "ñandú", "😀ok", "Straße", "Ελληνικά", "naïve", "東京"
+    };
+    private static final String[] KEYS = {"reason", "duration", "world", "target", "mode", "limit"};
+    private static final String[] FLAGS = {"silent", "force", "dry-run", "verbose"};
+    private static final String[] SHORT_GROUPS = {"-v", "-abc", "-xz", "-f"};
+
+    private final Random random;
+    private final int tokens;
+    private final double quoteDensity;
+    private final boolean shortFlags;
+    private final boolean keyValue;
+    private final boolean unicode;
+
+    private ParserInputs(final long seed, final int tokens, final double quoteDensity, final String mix) {
+        if (tokens < 1) {
+            throw new IllegalArgumentException("Token count must be at least 1");
+        }
+        if (quoteDensity < 0 || quoteDensity > 1) {
+            throw new IllegalArgumentException("Quote density must be between 0 and 1");
+        }
+        this.random = new Random(seed);
+        this.tokens = tokens;
+        this.quoteDensity = quoteDensity;
+        switch (mix) {
+            case PLAIN:
+                this.shortFlags = false;
+                this.keyValue = false;
+                this.unicode = false;
+                break;
+            case SHORT_FLAGS:
+                this.shortFlags = true;
+                this.keyValue = false;
+                this.unicode = false;
+                break;
+            case KEY_VALUE:
+                this.shortFlags = false;
+                this.keyValue = true;
+                this.unicode = false;
+                break;
+            case UNICODE:
+                this.shortFlags = false;
+                this.keyValue = false;
+                this.unicode = true;
+                break;
+            case MIXED:
+                this.shortFlags = true;
+                this.keyValue = true;
+                this.unicode = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown input mix: " + mix);
+        }
+    }
+
+    /**
+     * Generates distinct command lines.
+     *
+     * @param count        the number of lines
+     * @param tokens       the approximate number of tokens after the command name
+     * @param quoteDensity the probability of a value being a quoted multi-word string
+     * @param mix          the syntax mix, one of the constants of this class
+     * @param seed         the random seed; the same arguments always produce the same lines
+     * @return the command lines
+     */
+    public static List<String> generate(final int count, final int tokens, final double quoteDensity,
+                                        final String mix, final long seed) {
+        final ParserInputs generator = new ParserInputs(seed, tokens, quoteDensity, mix);
+        final List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(generator.line());
+        }
+        return lines;
+    }
+
+    private String line() {
+        final StringBuilder line = new StringBuilder("cmd");
+        int emitted = 0;
+        while (emitted < tokens) {
+            final int kind = random.nextInt(shortFlags ? 5 : 4);
+            switch (kind) {
+                case 0:
+                case 1:
+                    emitted += value(line, true);
+                    break;
+                case 2:
+                    line.append(" --").append(pick(KEYS));
+                    if (keyValue) {
+                        emitted += value(line.append('='), false);
+                    } else {
+                        emitted += 1 + value(line, true);
+                    }
+                    break;
+                case 3:
+                    line.append(" --").append(pick(FLAGS));
+                    emitted++;
+                    break;
+                default:
+                    if (random.nextBoolean()) {
+                        line.append(' ').append(pick(SHORT_GROUPS));
+                        emitted++;
+                    } else {
+                        line.append(" -n ").append(random.nextInt(100));
+                        emitted += 2;
+                    }
+                    break;
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Appends a value, quoted with probability {@code quoteDensity}.
+     *
+     * @return the number of whitespace separated tokens appended
+     */
+    private int value(final StringBuilder line, final boolean separate) {
+        if (separate) {
+            line.append(' ');
+        }
+        if (random.nextDouble() < quoteDensity) {
+            final int words = 2 + random.nextInt(3);
+            line.append('"');
+            for (int i = 0; i < words; i++) {
+                if (i > 0) {
+                    line.append(' ');
+                }
+                line.append(word());
+            }
+            line.append('"');
+            return words;
+        }
+        line.append(word());
+        return 1;
+    }
+
+    private String word() {
+        return unicode && random.nextBoolean() ? pick(UNICODE_WORDS) : pick(ASCII_WORDS);
+    }
+
+    private String pick(final String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
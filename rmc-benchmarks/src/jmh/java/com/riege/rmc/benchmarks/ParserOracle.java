@@ -0,0 +1,248 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.core.OptionParser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Correctness oracle for the command line tokenizer and {@link OptionParser}.
+ * <p>
+ * The reference methods are a frozen copy of the tokenizer as it behaves
+ * today: {@code CommandFramework} splits the trimmed input on {@code \s+},
+ * then {@link OptionParser#normalizeQuotes(String[])} merges quoted tokens and
+ * {@link OptionParser#parse(String[])} sorts them into positional arguments,
+ * options and flags. A faster implementation must produce identical output for
+ * every input, including the odd cases listed in {@link #edgeCases()} such as
+ * unterminated quotes or negative numbers; the benchmarks refuse to run
+ * otherwise.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * ParserOracle.verify("parseWithQuotes", inputs,
+ *         ParserOracle::reference,
+ *         input -> ParserOracle.Parsed.of(OptionParser.parseWithQuotes(ParserOracle.referenceSplit(input))));
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class ParserOracle {
+
+    private ParserOracle() {
+    }
+
+    /**
+     * Parser output, comparable with {@code equals} regardless of the collection types used.
+     *
+     * @param positional the positional arguments, in order
+     * @param options    the options; the last occurrence of a name wins
+     * @param flags      the flags
+     */
+    public record Parsed(List<String> positional, Map<String, String> options, Set<String> flags) {
+
+        public Parsed {
+            positional = List.copyOf(positional);
+            options = Map.copyOf(options);
+            flags = Set.copyOf(flags);
+        }
+
+        public static Parsed of(final OptionParser.ParseResult result) {
+            return new Parsed(result.getPositionalArgs(), result.getOptions(), result.getFlags());
+        }
+    }
+
+    /**
+     * Inputs that exercise the corners of the current behavior.
+     */
+    public static List<String> edgeCases() {
+        return List.of(
+                "cmd",
+                "  cmd   a\tb  ",
+                "cmd \"\"",
+                "cmd \"",
+                "cmd \"a\"",
+                "cmd \"unterminated quote here",
+                "cmd \"a b\" \"c d\"",
+                "cmd a\" b\"",
+                "cmd --reason \"a b\" --silent",
+                "cmd --reason=\"a b\"",
+                "cmd --key= --other=x=y",
+                "cmd --=x",
+                "cmd -- -",
+                "cmd -5 --count -3",
+                "cmd -n -5",
+                "cmd -abc -a1 -ab2 -xyz value",
+                "cmd -n 5 -n 6 --n 7",
+                "cmd --flag --flag",
+                "cmd --opt \"-dashed value\"",
+                "cmd café 日本語 😀ok \"naïve Straße\"",
+                "cmd café bar",
+                "cmd -é -日本"
+        );
+    }
+
+    /**
+     * Splits a raw line like {@code CommandFramework.executeCommand} does and drops the command name.
+     */
+    public static String[] referenceSplit(final String input) {
+        final String[] parts = input.trim().split("\\s+");
+        return Arrays.copyOfRange(parts, 1, parts.length);
+    }
+
+    /**
+     * Merges quoted tokens like {@link OptionParser#normalizeQuotes(String[])} does today.
+     */
+    public static List<String> referenceNormalize(final String[] args) {
+        final List<String> normalized = new ArrayList<>();
+        StringBuilder currentQuoted = null;
+        boolean inQuotes = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("\"")) {
+                inQuotes = true;
+                currentQuoted = new StringBuilder(arg.substring(1));
+
+                if (arg.endsWith("\"") && arg.length() > 1) {
+                    normalized.add(currentQuoted.substring(0, currentQuoted.length() - 1));
+                    currentQuoted = null;
+                    inQuotes = false;
+                }
+            } else if (inQuotes) {
+                currentQuoted.append(" ").append(arg);
+
+                if (arg.endsWith("\"")) {
+                    normalized.add(currentQuoted.substring(0, currentQuoted.length() - 1));
+                    currentQuoted = null;
+                    inQuotes = false;
+                }
+            } else {
+                normalized.add(arg);
+            }
+        }
+
+        if (inQuotes) {
+            normalized.add(currentQuoted.toString());
+        }
+        return normalized;
+    }
+
+    /**
+     * Sorts tokens like {@link OptionParser#parse(String[])} does today.
+     */
+    public static Parsed referenceParse(final List<String> args) {
+        final List<String> positional = new ArrayList<>();
+        final Map<String, String> options = new HashMap<>();
+        final Set<String> flags = new HashSet<>();
+
+        for (int i = 0; i < args.size(); i++) {
+            final String arg = args.get(i);
+
+            if (arg.startsWith("--")) {
+                final String optionPart = arg.substring(2);
+
+                if (optionPart.contains("=")) {
+                    final String[] parts = optionPart.split("=", 2);
+                    options.put(parts[0], parts.length > 1 ? parts[1] : "");
+                } else if (i + 1 < args.size() && !args.get(i + 1).startsWith("-")) {
+                    options.put(optionPart, args.get(i + 1));
+                    i++;
+                } else {
+                    flags.add(optionPart);
+                }
+            } else if (arg.startsWith("-") && arg.length() > 1) {
+                final String optionName = arg.substring(1);
+
+                if (optionName.length() > 1 && !Character.isDigit(optionName.charAt(0))) {
+                    boolean allSingleChar = true;
+                    for (char c : optionName.toCharArray()) {
+                        if (!Character.isLetter(c)) {
+                            allSingleChar = false;
+                            break;
+                        }
+                    }
+
+                    if (allSingleChar) {
+                        for (char c : optionName.toCharArray()) {
+                            flags.add(String.valueOf(c));
+                        }
+                        continue;
+                    }
+                }
+
+                if (i + 1 < args.size() && !args.get(i + 1).startsWith("-")) {
+                    options.put(optionName, args.get(i + 1));
+                    i++;
+                } else {
+                    flags.add(optionName);
+                }
+            } else {
+                positional.add(arg);
+            }
+        }
+        return new Parsed(positional, options, flags);
+    }
+
+    /**
+     * The full reference pipeline: split, normalize, parse.
+     */
+    public static Parsed reference(final String input) {
+        return referenceParse(referenceNormalize(referenceSplit(input)));
+    }
+
+    /**
+     * Checks that a candidate agrees with a reference on every input.
+     *
+     * @param label     names the candidate in the failure message
+     * @param inputs    the raw command lines
+     * @param reference the expected behavior
+     * @param candidate the implementation under test
+     * @param <T>       the compared output type; arrays must be wrapped in lists
+     * @return the number of inputs checked
+     * @throws IllegalStateException on the first input where the outputs differ
+     */
+    public static <T> int verify(final String label, final Collection<String> inputs,
+                                 final Function<String, T> reference, final Function<String, T> candidate) {
+        for (final String input : inputs) {
+            final T expected = reference.apply(input);
+            final T actual = candidate.apply(input);
+            if (!Objects.equals(expected, actual)) {
+                throw new IllegalStateException(label + " differs from the reference for input <" + input + ">"
+                        + System.lineSeparator() + "  expected: " + expected
+                        + System.lineSeparator() + "  actual:   " + actual);
+            }
+        }
+        return inputs.size();
+    }
+
+    /**
+     * Checks the current {@link OptionParser} against the reference, stage by stage.
+     *
+     * @param inputs the raw command lines, checked together with {@link #edgeCases()}
+     * @throws IllegalStateException on the first difference
+     */
+    public static void verifyOptionParser(final Collection<String> inputs) {
+        final List<String> all = new ArrayList<>(edgeCases());
+        all.addAll(inputs);
+
+        verify("normalizeQuotes", all,
+                input -> referenceNormalize(referenceSplit(input)),
+                input -> List.of(OptionParser.normalizeQuotes(referenceSplit(input))));
+        verify("parse", all,
+                input -> referenceParse(referenceNormalize(referenceSplit(input))),
+                input -> Parsed.of(OptionParser.parse(referenceNormalize(referenceSplit(input)).toArray(new String[0]))));
+        verify("parseWithQuotes", all,
+                ParserOracle::reference,
+                input -> Parsed.of(OptionParser.parseWithQuotes(referenceSplit(input))));
+    }
+}
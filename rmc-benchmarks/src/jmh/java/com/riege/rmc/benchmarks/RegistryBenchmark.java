@@ -0,0 +1,107 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.core.CommandInfo;
+import com.riege.rmc.terminal.command.core.CommandRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of the {@link CommandRegistry} operations as the
+ * registry grows from 100 to 100,000 commands.
+ * <p>
+ * {@link #unregisterAndRegister()} removes a command and registers it again,
+ * which keeps the size constant; both halves copy the whole snapshot, so it
+ * is also the cost of loading or unloading one plugin command.
+ * </p>
+ * <pre>
+ * ./gradlew :rmc-benchmarks:jmh -Pjmh.includes=RegistryBenchmark
+ * </pre>
+ *
+ * @author riege
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int size;
+
+    private CommandRegistry registry;
+    private List<CommandInfo> commands;
+    private String[] names;
+    private String[] aliases;
+    private String[] missing;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SyntheticRegistry synthetic = SyntheticRegistry.generate(size, 42);
+        registry = synthetic.populate();
+        commands = synthetic.getCommands();
+        BenchmarkSupport.check(registry.size() == size, "registry holds " + registry.size() + " commands");
+
+        names = new String[LOOKUPS];
+        aliases = new String[LOOKUPS];
+        missing = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            names[i] = synthetic.getNames().get((int) ((long) i * size / LOOKUPS) % size);
+            aliases[i] = synthetic.getAliases().get(i % synthetic.getAliases().size());
+            // Digits never appear in generated names
+            missing[i] = names[i] + i;
+        }
+    }
+
+    @Benchmark
+    public Optional<CommandInfo> getCommand() {
+        return registry.getCommand(names[next()]);
+    }
+
+    @Benchmark
+    public Optional<CommandInfo> getCommandByAlias() {
+        return registry.getCommand(aliases[next()]);
+    }
+
+    @Benchmark
+    public Optional<CommandInfo> getCommandMissing() {
+        return registry.getCommand(missing[next()]);
+    }
+
+    @Benchmark
+    public List<CommandInfo> getCommandsByPriority() {
+        return registry.getCommandsByPriority();
+    }
+
+    @Benchmark
+    public boolean unregisterAndRegister() {
+        final CommandInfo command = commands.get(next() % size);
+        final boolean removed = registry.unregister(command.getName());
+        registry.register(command);
+        return removed;
+    }
+
+    private int next() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return next;
+    }
+}
@@ -0,0 +1,203 @@
+package com.riege.rmc.benchmarks;
+
+import com.riege.rmc.terminal.command.annotations.Command;
+import com.riege.rmc.terminal.command.annotations.CommandHandler;
+import com.riege.rmc.terminal.command.core.CommandContext;
+import com.riege.rmc.terminal.command.core.CommandInfo;
+import com.riege.rmc.terminal.command.core.CommandRegistry;
+import com.riege.rmc.terminal.command.core.LazyInstance;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic set of synthetic commands for the registry benchmarks.
+ * <p>
+ * Names are random lowercase words of 5 to 10 letters, so prefixes of one to
+ * a few letters match a realistic share of the registry. Every other command
+ * has an alias, and priorities are spread over ten values. All commands share
+ * one handler, which is never invoked.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class SyntheticRegistry {
+
+    private static final Handler HANDLER = new Handler();
+    private static final Method HANDLER_METHOD;
+    private static final CommandHandler HANDLER_ANNOTATION;
+
+    static {
+        try {
+            HANDLER_METHOD = Handler.class.getMethod("handle", CommandContext.class);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        HANDLER_ANNOTATION = HANDLER_METHOD.getAnnotation(CommandHandler.class);
+    }
+
+    private final Random random;
+    private final Set<String> used;
+    private final List<CommandInfo> commands;
+    private final List<String> names;
+    private final List<String> aliases;
+
+    private SyntheticRegistry(final long seed) {
+        this.random = new Random(seed);
+        this.used = new HashSet<>();
+        this.commands = new ArrayList<>();
+        this.names = new ArrayList<>();
+        this.aliases = new ArrayList<>();
+    }
+
+    /**
+     * Generates commands.
+     *
+     * @param size the number of commands
+     * @param seed the random seed
+     * @return the generated commands
+     */
+    public static SyntheticRegistry generate(final int size, final long seed) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be at least 1");
+        }
+        final SyntheticRegistry registry = new SyntheticRegistry(seed);
+        for (int i = 0; i < size; i++) {
+            final String name = registry.uniqueWord();
+            final String[] commandAliases = i % 2 == 0 ? new String[]{registry.uniqueWord()} : new String[0];
+            registry.commands.add(command(name, commandAliases, registry.random.nextInt(10)));
+            registry.names.add(name);
+            if (commandAliases.length > 0) {
+                registry.aliases.add(commandAliases[0]);
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Creates a command outside of any generated set.
+     *
+     * @param name     the command name
+     * @param aliases  the aliases
+     * @param priority the priority
+     * @return the command
+     */
+    public static CommandInfo command(final String name, final String[] aliases, final int priority) {
+        return CommandInfo.builder(new SyntheticCommand(name, aliases, priority), LazyInstance.of(HANDLER))
+                .handler(HANDLER_METHOD, HANDLER_ANNOTATION)
+                .build();
+    }
+
+    /**
+     * Returns a new registry holding every generated command.
+     */
+    public CommandRegistry populate() {
+        final CommandRegistry registry = new CommandRegistry();
+        registry.registerAll(commands);
+        return registry;
+    }
+
+    public List<CommandInfo> getCommands() {
+        return commands;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    /**
+     * Returns deterministic prefixes of existing names, so each has at least one match.
+     *
+     * @param count  the number of prefixes
+     * @param length the prefix length
+     * @return the prefixes
+     */
+    public List<String> prefixes(final int count, final int length) {
+        final Random prefixRandom = new Random(length);
+        final List<String> prefixes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String name = names.get(prefixRandom.nextInt(names.size()));
+            prefixes.add(name.substring(0, Math.min(length, name.length())));
+        }
+        return prefixes;
+    }
+
+    private String uniqueWord() {
+        while (true) {
+            final int length = 5 + random.nextInt(6);
+            final StringBuilder word = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            if (used.add(word.toString())) {
+                return word.toString();
+            }
+        }
+    }
+
+    /**
+     * Handler shared by every synthetic command.
+     */
+    public static final class Handler {
+        @CommandHandler
+        public void handle(CommandContext ctx) {
+        }
+    }
+
+    /**
+     * {@link Command} metadata that is not read from a class annotation.
+     */
+    @SuppressWarnings("ClassExplicitlyAnnotation")
+    private record SyntheticCommand(String name, String[] aliases, int priority) implements Command {
+
+        @Override
+        public String description() {
+            return "";
+        }
+
+        @Override
+        public String permission() {
+            return "";
+        }
+
+        @Override
+        public String usage() {
+            return "";
+        }
+
+        @Override
+        public int minArgs() {
+            return 0;
+        }
+
+        @Override
+        public int maxArgs() {
+            return -1;
+        }
+
+        @Override
+        public boolean enabled() {
+            return true;
+        }
+
+        @Override
+        public boolean concurrent() {
+            return false;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Command.class;
+        }
+    }
+}
@@ -10,6 +10,8 @@ if [ $? -ne 0 ]; then
 fi
 
 echo "Starting application..."
+# --enable-preview : requis par le backend ffm (java.lang.foreign est en preview dans Java 21)
 java -Djava.library.path="natives" \
      --enable-native-access=ALL-UNNAMED \
+     --enable-preview \
      -jar build/libs/RiegeTerminal-1.21.4.jar
@@ -1,67 +1,200 @@
 package com.riege.rmc;
 
-import com.riege.rmc.terminal.command.bridge.RustTerminal;
+import com.riege.rmc.terminal.command.annotations.Command;
+import com.riege.rmc.terminal.command.bridge.AnsiTerminalBackend;
+import com.riege.rmc.terminal.command.bridge.TerminalBackend;
+import com.riege.rmc.terminal.command.core.BaseCommand;
 import com.riege.rmc.terminal.command.core.CommandManager;
+import com.riege.rmc.terminal.command.core.CommandWarmup;
+import com.riege.rmc.terminal.command.core.StartupProfiler;
 import com.riege.rmc.terminal.command.impl.ExitCommand;
+import com.riege.rmc.terminal.command.impl.FailuresCommand;
 import com.riege.rmc.terminal.command.impl.HelpCommand;
+import com.riege.rmc.terminal.command.impl.LogCommand;
+import com.riege.rmc.terminal.command.impl.StatsCommand;
+import com.riege.rmc.terminal.command.middleware.LoggingMiddleware;
+import com.riege.rmc.terminal.logging.AsyncLogSink;
+import com.riege.rmc.terminal.logging.JsonLinesSink;
+import com.riege.rmc.terminal.logging.LogJournal;
+import com.riege.rmc.terminal.logging.LogThrottle;
 import com.riege.rmc.terminal.logging.Logger;
 import com.riege.rmc.terminal.logging.MessageLogger;
+import com.riege.rmc.terminal.logging.MessageType;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.function.Consumer;
 
 @SuppressWarnings("unused")
 public class Main {
 
+    private static final String DEFAULT_STARTUP_BUDGETS = "*=250,warmup=5000";
+
     public static void main(String[] args) {
-        Logger.initialize();
+        final StartupProfiler profiler = new StartupProfiler();
+        try {
+            profiler.budgets(DEFAULT_STARTUP_BUDGETS).budgets(System.getProperty("rmc.startup.budgets"));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring startup budgets: " + e.getMessage());
+        }
+
+        profiler.time("logger.init", Logger::initialize);
 
-        CommandManager manager = new CommandManager();
-        manager.register(new HelpCommand(manager.getFramework()));
-        manager.register(new ExitCommand());
+        final String level = System.getProperty("rmc.log.level");
+        if (level != null) {
+            try {
+                Logger.setLevel(MessageType.valueOf(level.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring invalid rmc.log.level '" + level + "'");
+            }
+        }
+
+        final String journalDir = System.getProperty("rmc.journal.dir");
+        if (journalDir != null) {
+            try (StartupProfiler.Phase phase = profiler.begin("logger.journal")) {
+                LogJournal journal = new LogJournal(Paths.get(journalDir), 16 * 1024 * 1024, 8, 256);
+                int restored = Logger.getInstance().attachJournal(journal, true);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> Logger.getInstance().detachJournal()));
+                Logger.debug("Log journal attached, %d message(s) restored", restored);
+            } catch (IOException e) {
+                System.err.println("Cannot open log journal: " + e.getMessage());
+            }
+        }
+
+        final String jsonLinesFile = System.getProperty("rmc.log.jsonl");
+        if (jsonLinesFile != null) {
+            try (StartupProfiler.Phase phase = profiler.begin("logger.jsonl")) {
+                JsonLinesSink jsonSink = new JsonLinesSink(Paths.get(jsonLinesFile), 64 * 1024, 200);
+                Logger.subscribe(jsonSink);
+                Runtime.getRuntime().addShutdownHook(new Thread(jsonSink::close));
+                Logger.debug("JSON Lines sink writing to %s", jsonLinesFile);
+            } catch (IOException e) {
+                System.err.println("Cannot open JSON Lines file: " + e.getMessage());
+            }
+        }
+
+        CommandManager manager = profiler.measure("framework.init", CommandManager::new);
+        if (jsonLinesFile != null) {
+            manager.getFramework().use(new LoggingMiddleware());
+        }
+        register(profiler, manager, new HelpCommand(manager.getFramework()));
+        register(profiler, manager, new ExitCommand());
+        register(profiler, manager, new LogCommand());
+        register(profiler, manager, new FailuresCommand(manager.getFramework().getFailureTracker()));
+        register(profiler, manager, new StatsCommand(profiler));
+
+        CommandWarmup warmup = null;
+        final String warmupSetting = System.getProperty("rmc.warmup");
+        if (warmupSetting != null && !warmupSetting.equalsIgnoreCase("false")) {
+            try {
+                int rounds = warmupSetting.equalsIgnoreCase("true")
+                        ? CommandWarmup.DEFAULT_ROUNDS : Integer.parseInt(warmupSetting.trim());
+                warmup = new CommandWarmup(manager.getFramework()).rounds(rounds);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping warm-up, invalid rmc.warmup '" + warmupSetting + "': " + e.getMessage());
+            }
+        }
+        if (warmup != null) {
+            CommandWarmup.Result result = profiler.measure("warmup", warmup::run);
+            Logger.debug("JIT warm-up: %d execution(s) of %d input(s) in %d round(s), %d ms",
+                    result.executions(), result.corpusSize(), result.rounds(), result.elapsed().toMillis());
+        }
 
         try {
-            System.out.println("[DEBUG] Loading Rust terminal library...");
-            RustTerminal terminal = RustTerminal.INSTANCE;
-            System.out.println("[DEBUG] Rust terminal loaded successfully");
+            String backendName = System.getProperty("rmc.terminal.backend", "jna");
+            System.out.println("[DEBUG] Loading terminal backend: " + backendName);
+            TerminalBackend terminal = profiler.measure("terminal.load", () -> loadTerminal(backendName));
+            System.out.println("[DEBUG] Terminal backend loaded successfully: " + terminal.getName());
 
-            MessageLogger.setRustBridge(terminal);
+            MessageLogger.setTerminal(terminal);
             System.out.println("[DEBUG] Message logger bridge set");
 
-            RustTerminal.NativeCallback onInput = (input) -> {
+            profiler.time("logger.async", () -> Logger.getInstance()
+                    .enableAsyncOutput(8192, 256, 5, AsyncLogSink.OverflowPolicy.DROP_DEBUG));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> Logger.getInstance().disableAsyncOutput()));
+
+            if (!"false".equalsIgnoreCase(System.getProperty("rmc.log.throttle"))) {
+                Logger.getInstance().setThrottle(LogThrottle.defaults());
+            }
+
+            Consumer<String> onInput = (input) -> {
                 if (input.equalsIgnoreCase("exit")) {
-                    terminal.terminal_close();
+                    terminal.close();
                     System.exit(0);
                 } else {
-                    manager.execute(input);
+                    manager.submit(input);
                 }
             };
 
-            RustTerminal.NativeCallback onTab = (buffer) -> {
+            Consumer<String> onTab = (buffer) -> {
                 List<String> matches = manager.getFramework().getRegistry().findMatchingCommands(buffer);
                 for (String match : matches) {
-                    terminal.terminal_add_candidate(match);
+                    terminal.addCandidate(match);
                 }
             };
 
+            profiler.time("dispatcher.start", manager.getDispatcher()::start);
+            Runtime.getRuntime().addShutdownHook(new Thread(manager::shutdown));
+
             System.out.println("[DEBUG] Registering callbacks...");
-            terminal.terminal_register_input_callback(onInput);
-            terminal.terminal_register_tab_callback(onTab);
+            profiler.time("callbacks.register", () -> {
+                terminal.onInput(onInput);
+                terminal.onTab(onTab);
+            });
             System.out.println("[DEBUG] Callbacks registered");
 
             Logger.success("Backend initialised");
 
             System.out.println("[DEBUG] Starting terminal thread...");
-            Thread rustThread = new Thread(terminal::terminal_start, "riege-xterm-frontend");
-            rustThread.start();
+            Thread terminalThread = new Thread(terminal::start, "riege-xterm-frontend");
+            // The backend start call blocks until the terminal closes and reports no ready signal, so only the
+            // thread launch is on the startup path
+            profiler.time("terminal.thread", terminalThread::start);
+            profiler.complete();
             System.out.println("[DEBUG] Terminal thread started, waiting for it to complete...");
+            reportStartup(profiler);
 
-            rustThread.join();
+            terminalThread.join();
             System.out.println("[DEBUG] Terminal thread completed");
 
         } catch (Throwable e) {
-            System.err.println("Critical error, cannot load riege-xterm.");
+            System.err.println("Critical error, terminal failed.");
             System.err.println(e.getMessage());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    private static void register(StartupProfiler profiler, CommandManager manager, BaseCommand command) {
+        Command annotation = command.getClass().getAnnotation(Command.class);
+        String name = annotation != null ? annotation.name() : command.getClass().getSimpleName();
+        profiler.time("command." + name, () -> manager.register(command));
+    }
+
+    /**
+     * Prints the startup duration and flags the phases that exceeded their budget.
+     */
+    private static void reportStartup(StartupProfiler profiler) {
+        StartupProfiler.Report report = profiler.report();
+        Logger.debug("Startup completed in %.3f ms (%d phases), see 'stats startup'",
+                report.totalNanos() / 1e6, report.phases().size());
+        for (StartupProfiler.PhaseTiming slow : report.overBudget()) {
+            Logger.warning(String.format("Startup phase %s took %.3f ms, budget is %d ms",
+                    slow.name(), slow.durationNanos() / 1e6, slow.budgetNanos() / 1_000_000));
+        }
+    }
+
+    /**
+     * Loads the requested backend, falling back to the pure-Java ANSI terminal
+     * when the native library is unavailable on this host.
+     */
+    private static TerminalBackend loadTerminal(String name) {
+        try {
+            return TerminalBackend.load(name);
+        } catch (LinkageError | RuntimeException e) {
+            System.err.println("Cannot load terminal backend '" + name + "': " + e.getMessage());
+            System.err.println("Falling back to the ANSI terminal");
+            return new AnsiTerminalBackend();
+        }
+    }
+}
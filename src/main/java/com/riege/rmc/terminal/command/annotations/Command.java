@@ -136,4 +136,16 @@ public @interface Command {
      * @return the priority value
      */
     int priority() default 0;
+
+    /**
+     * Whether this command is safe to execute concurrently.
+     * <p>
+     * Batch execution dispatches invocations of concurrent commands in
+     * parallel. Commands that are not marked as concurrent are always
+     * executed sequentially, in submission order.
+     * </p>
+     *
+     * @return {@code true} if the command may run concurrently; {@code false} otherwise
+     */
+    boolean concurrent() default false;
 }
@@ -0,0 +1,38 @@
+package com.riege.rmc.terminal.command.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Excludes a command or handler from the JIT warm-up corpus.
+ * <p>
+ * The warm-up phase executes every registered command with generated sample
+ * arguments before the terminal accepts input. Mark commands and handlers
+ * with side effects that must not run at boot, such as stopping the process
+ * or deleting data.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@literal @}SkipWarmup
+ * {@literal @}Command(name = "exit")
+ * public class ExitCommand {
+ *     ...
+ * }
+ *
+ * {@literal @}SkipWarmup
+ * {@literal @}SubCommand(name = "clear")
+ * public void clear(CommandContext ctx) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author riege
+ * @version 1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface SkipWarmup {
+}
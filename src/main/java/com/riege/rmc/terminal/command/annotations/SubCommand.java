@@ -121,4 +121,15 @@ public @interface SubCommand {
      * @return maximum args
      */
     int maxArgs() default -1;
+
+    /**
+     * Whether this subcommand handler is asynchronous.
+     * <p>
+     * Async subcommands are executed on the framework's async executor,
+     * exactly like {@link CommandHandler#async()} handlers.
+     * </p>
+     *
+     * @return {@code true} for async execution; {@code false} for synchronous
+     */
+    boolean async() default false;
 }
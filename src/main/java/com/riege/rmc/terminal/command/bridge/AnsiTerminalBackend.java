@@ -0,0 +1,219 @@
+package com.riege.rmc.terminal.command.bridge;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Pure-Java {@link TerminalBackend} on standard input and output, for hosts
+ * without {@code libriege_xterm}.
+ * <p>
+ * Output is written through a buffered UTF-8 writer on the stdout channel,
+ * colored with ANSI escape sequences and flushed once per message. Input is
+ * read line by line straight from the stdin channel, so {@link #close()} can
+ * interrupt a blocked read. The console stays in line mode,
+ * so tab completion is requested by ending a line with a tab character:
+ * the candidates are listed and the line is not executed.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class AnsiTerminalBackend implements TerminalBackend {
+
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String PROMPT = "> ";
+
+    private final ReadableByteChannel in;
+    private final Writer out;
+    private final boolean colors;
+    private final ByteBuffer inputBuffer;
+    private byte[] lineBuffer;
+
+    private volatile Consumer<String> inputHandler;
+    private volatile Consumer<String> tabHandler;
+    private volatile boolean running;
+    private List<String> candidates;
+
+    /**
+     * Creates a backend on the process standard streams, using colors if a console is attached.
+     */
+    public AnsiTerminalBackend() {
+        this(new FileInputStream(FileDescriptor.in).getChannel(),
+                new FileOutputStream(FileDescriptor.out).getChannel(),
+                System.console() != null);
+    }
+
+    /**
+     * Creates a backend on the given channels.
+     *
+     * @param in     the input channel
+     * @param out    the output channel
+     * @param colors whether to emit ANSI color sequences
+     */
+    public AnsiTerminalBackend(final ReadableByteChannel in, final WritableByteChannel out, final boolean colors) {
+        this.in = in;
+        this.out = new BufferedWriter(Channels.newWriter(out, StandardCharsets.UTF_8), 8192);
+        this.colors = colors;
+        this.inputBuffer = ByteBuffer.allocate(4096).flip();
+        this.lineBuffer = new byte[256];
+    }
+
+    /**
+     * Reads input lines until end of input or {@link #close()}.
+     */
+    @Override
+    public void start() {
+        running = true;
+        try {
+            write(null, PROMPT, false);
+            String line;
+            while (running && (line = readLine()) != null) {
+                if (line.endsWith("\t")) {
+                    complete(line.substring(0, line.length() - 1));
+                } else {
+                    final Consumer<String> handler = inputHandler;
+                    if (handler != null && !line.isBlank()) {
+                        handler.accept(line.strip());
+                    }
+                }
+                write(null, PROMPT, false);
+            }
+        } catch (IOException e) {
+            // Input closed, e.g. by close() from another thread
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+
+    @Override
+    public void logInfo(final String message) {
+        write(null, message, true);
+    }
+
+    @Override
+    public void logError(final String message) {
+        write(RED, message, true);
+    }
+
+    @Override
+    public void logSuccess(final String message) {
+        write(GREEN, message, true);
+    }
+
+    @Override
+    public synchronized void addCandidate(final String candidate) {
+        if (candidates != null) {
+            candidates.add(candidate);
+        }
+    }
+
+    @Override
+    public void onInput(final Consumer<String> handler) {
+        inputHandler = handler;
+    }
+
+    @Override
+    public void onTab(final Consumer<String> handler) {
+        tabHandler = handler;
+    }
+
+    @Override
+    public String getName() {
+        return "ansi";
+    }
+
+    /**
+     * Reads one line without decoding ahead: a reader on a file channel keeps
+     * blocking after a complete line from a pipe until more bytes arrive.
+     * Splitting on the raw byte is safe because UTF-8 never encodes other
+     * characters with {@code '\n'}.
+     *
+     * @return the line without its terminator, or {@code null} at end of input
+     */
+    private String readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            while (inputBuffer.hasRemaining()) {
+                final byte b = inputBuffer.get();
+                if (b == '\n') {
+                    return decodeLine(length);
+                }
+                if (length == lineBuffer.length) {
+                    lineBuffer = Arrays.copyOf(lineBuffer, length * 2);
+                }
+                lineBuffer[length++] = b;
+            }
+            inputBuffer.clear();
+            final int read = in.read(inputBuffer);
+            inputBuffer.flip();
+            if (read < 0) {
+                return length > 0 ? decodeLine(length) : null;
+            }
+        }
+    }
+
+    private String decodeLine(final int length) {
+        final int end = length > 0 && lineBuffer[length - 1] == '\r' ? length - 1 : length;
+        return new String(lineBuffer, 0, end, StandardCharsets.UTF_8);
+    }
+
+    private void complete(final String buffer) {
+        final Consumer<String> handler = tabHandler;
+        if (handler == null) {
+            return;
+        }
+        synchronized (this) {
+            candidates = new ArrayList<>();
+        }
+        handler.accept(buffer.strip());
+        final List<String> result;
+        synchronized (this) {
+            result = candidates;
+            candidates = null;
+        }
+        write(null, result.isEmpty() ? "(no completion)" : String.join("  ", result), true);
+    }
+
+    private synchronized void write(final String color, final String text, final boolean newLine) {
+        try {
+            if (color != null && colors) {
+                out.write(color);
+                out.write(text);
+                out.write(RESET);
+            } else {
+                out.write(text);
+            }
+            if (newLine) {
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            // Standard output is gone; nothing left to report to
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.riege.rmc.terminal.command.bridge;
+
+import com.riege.rmc.terminal.logging.Logger;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.SymbolLookup;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Consumer;
+
+/**
+ * {@link TerminalBackend} calling {@code libriege_xterm} through the
+ * {@code java.lang.foreign} API.
+ * <p>
+ * Every exported symbol is bound once to a {@link MethodHandle} downcall and
+ * invoked with {@code invokeExact}, so a call costs one native transition
+ * instead of a JNA proxy dispatch with reflective argument conversion.
+ * Strings are encoded into the calling thread's {@link NativeStringBuffer}, so
+ * no native memory is allocated per call. The input
+ * and tab callbacks are upcall stubs that live as long as the library.
+ * </p>
+ * <p>
+ * The Foreign Function and Memory API is a preview API in Java 21: this class
+ * is compiled with {@code --enable-preview} and the JVM must be started with
+ * {@code --enable-preview --enable-native-access=ALL-UNNAMED} to use it.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class ForeignTerminalBackend implements TerminalBackend {
+
+    private static final FunctionDescriptor NO_ARGS = FunctionDescriptor.ofVoid();
+    private static final FunctionDescriptor POINTER_ARG = FunctionDescriptor.ofVoid(ValueLayout.ADDRESS);
+
+    private final Arena libraryArena;
+    private final Linker linker;
+
+    private final MethodHandle start;
+    private final MethodHandle close;
+    private final MethodHandle logInfo;
+    private final MethodHandle logError;
+    private final MethodHandle logSuccess;
+    private final MethodHandle addCandidate;
+    private final MethodHandle registerInputCallback;
+    private final MethodHandle registerTabCallback;
+
+    private volatile Consumer<String> inputHandler;
+    private volatile Consumer<String> tabHandler;
+    private MemorySegment inputStub;
+    private MemorySegment tabStub;
+
+    private ForeignTerminalBackend(final SymbolLookup library, final Arena libraryArena) {
+        this.libraryArena = libraryArena;
+        this.linker = Linker.nativeLinker();
+        this.start = bind(library, "terminal_start", NO_ARGS);
+        this.close = bind(library, "terminal_close", NO_ARGS);
+        this.logInfo = bind(library, "terminal_log_info", POINTER_ARG);
+        this.logError = bind(library, "terminal_log_error", POINTER_ARG);
+        this.logSuccess = bind(library, "terminal_log_success", POINTER_ARG);
+        this.addCandidate = bind(library, "terminal_add_candidate", POINTER_ARG);
+        this.registerInputCallback = bind(library, "terminal_register_input_callback", POINTER_ARG);
+        this.registerTabCallback = bind(library, "terminal_register_tab_callback", POINTER_ARG);
+    }
+
+    /**
+     * Binds the library bundled in {@code natives/}, falling back to the system library path.
+     *
+     * @return the backend
+     * @throws IllegalArgumentException if the library cannot be found or lacks a symbol
+     */
+    public static ForeignTerminalBackend load() {
+        final Arena arena = Arena.ofShared();
+        final SymbolLookup library = TerminalLibrary.findBundled()
+                .map(path -> SymbolLookup.libraryLookup(path, arena))
+                .orElseGet(() -> SymbolLookup.libraryLookup(System.mapLibraryName(TerminalLibrary.NAME), arena));
+        return new ForeignTerminalBackend(library, arena);
+    }
+
+    @Override
+    public void start() {
+        try {
+            start.invokeExact();
+        } catch (Throwable t) {
+            throw rethrow("terminal_start", t);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            close.invokeExact();
+        } catch (Throwable t) {
+            throw rethrow("terminal_close", t);
+        }
+    }
+
+    @Override
+    public void logInfo(final String message) {
+        callWithString(logInfo, message);
+    }
+
+    @Override
+    public void logError(final String message) {
+        callWithString(logError, message);
+    }
+
+    @Override
+    public void logSuccess(final String message) {
+        callWithString(logSuccess, message);
+    }
+
+    @Override
+    public void addCandidate(final String candidate) {
+        callWithString(addCandidate, candidate);
+    }
+
+    @Override
+    public synchronized void onInput(final Consumer<String> handler) {
+        inputHandler = handler;
+        if (inputStub == null) {
+            inputStub = upcall("dispatchInput");
+            callWithPointer(registerInputCallback, inputStub);
+        }
+    }
+
+    @Override
+    public synchronized void onTab(final Consumer<String> handler) {
+        tabHandler = handler;
+        if (tabStub == null) {
+            tabStub = upcall("dispatchTab");
+            callWithPointer(registerTabCallback, tabStub);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "ffm";
+    }
+
+    private void callWithString(final MethodHandle function, final String value) {
+        try {
+            function.invokeExact(MemorySegment.ofBuffer(NativeStringBuffer.forCurrentThread().encode(value)));
+        } catch (Throwable t) {
+            throw rethrow("terminal call", t);
+        }
+    }
+
+    private static void callWithPointer(final MethodHandle function, final MemorySegment pointer) {
+        try {
+            function.invokeExact(pointer);
+        } catch (Throwable t) {
+            throw rethrow("callback registration", t);
+        }
+    }
+
+    private MethodHandle bind(final SymbolLookup library, final String symbol, final FunctionDescriptor descriptor) {
+        final MemorySegment address = library.find(symbol)
+                .orElseThrow(() -> new IllegalArgumentException("Missing native symbol: " + symbol));
+        return linker.downcallHandle(address, descriptor);
+    }
+
+    private MemorySegment upcall(final String dispatcher) {
+        try {
+            final MethodHandle target = MethodHandles.lookup()
+                    .findVirtual(ForeignTerminalBackend.class, dispatcher, MethodType.methodType(void.class, MemorySegment.class))
+                    .bindTo(this);
+            return linker.upcallStub(target, POINTER_ARG, libraryArena);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Cannot create upcall stub for " + dispatcher, e);
+        }
+    }
+
+    /**
+     * Upcall target for the input callback. Exceptions must not unwind into native code.
+     */
+    private void dispatchInput(final MemorySegment data) {
+        dispatch(inputHandler, data);
+    }
+
+    /**
+     * Upcall target for the tab callback. Exceptions must not unwind into native code.
+     */
+    private void dispatchTab(final MemorySegment data) {
+        dispatch(tabHandler, data);
+    }
+
+    private static void dispatch(final Consumer<String> handler, final MemorySegment data) {
+        if (handler == null || data.equals(MemorySegment.NULL)) {
+            return;
+        }
+        try {
+            handler.accept(data.reinterpret(Long.MAX_VALUE).getUtf8String(0));
+        } catch (Throwable t) {
+            if (Logger.isInitialized()) {
+                Logger.error("Terminal callback failed", t);
+            } else {
+                t.printStackTrace();
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(final String operation, final Throwable t) {
+        if (t instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Native " + operation + " failed", t);
+    }
+}
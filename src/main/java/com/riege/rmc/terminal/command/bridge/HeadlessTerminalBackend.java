@@ -0,0 +1,209 @@
+package com.riege.rmc.terminal.command.bridge;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * In-memory {@link TerminalBackend} without any rendering, for tests and benchmarks.
+ * <p>
+ * Output is recorded into a bounded buffer of the most recent writes and
+ * counted per kind; like the native frontend, a single write may hold several
+ * newline-separated lines. Input is simulated with {@link #submit(String)} and tab
+ * completion with {@link #complete(String)}, both of which invoke the
+ * registered handlers on the calling thread exactly like the native
+ * frontend would.
+ * </p>
+ * <p>
+ * Writes are counted without locking, so a backend that retains no lines
+ * adds no contention between logging threads and can stand in for the
+ * terminal in multi-threaded benchmarks.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * HeadlessTerminalBackend terminal = new HeadlessTerminalBackend(1000);
+ * MessageLogger.setTerminal(terminal);
+ * terminal.onInput(manager::execute);
+ * terminal.submit("help");
+ * List<String> output = terminal.getOutput();
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class HeadlessTerminalBackend implements TerminalBackend {
+
+    /**
+     * Kind of a recorded write.
+     */
+    public enum Kind { INFO, ERROR, SUCCESS }
+
+    private final int retainedLines;
+    private final Deque<String> output;
+    private final LongAdder[] counts;
+    private final CountDownLatch closed;
+
+    private volatile Consumer<String> inputHandler;
+    private volatile Consumer<String> tabHandler;
+    private List<String> candidates;
+
+    /**
+     * Creates a headless terminal.
+     *
+     * @param retainedLines the number of most recent writes kept; {@code 0} only counts output
+     */
+    public HeadlessTerminalBackend(final int retainedLines) {
+        if (retainedLines < 0) {
+            throw new IllegalArgumentException("Retained lines cannot be negative");
+        }
+        this.retainedLines = retainedLines;
+        this.output = new ArrayDeque<>(Math.min(retainedLines, 1024));
+        this.counts = new LongAdder[Kind.values().length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        this.closed = new CountDownLatch(1);
+    }
+
+    /**
+     * Blocks until {@link #close()} is called.
+     */
+    @Override
+    public void start() {
+        try {
+            closed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed.countDown();
+    }
+
+    @Override
+    public void logInfo(final String message) {
+        record(Kind.INFO, message);
+    }
+
+    @Override
+    public void logError(final String message) {
+        record(Kind.ERROR, message);
+    }
+
+    @Override
+    public void logSuccess(final String message) {
+        record(Kind.SUCCESS, message);
+    }
+
+    @Override
+    public synchronized void addCandidate(final String candidate) {
+        if (candidates != null) {
+            candidates.add(candidate);
+        }
+    }
+
+    @Override
+    public void onInput(final Consumer<String> handler) {
+        inputHandler = handler;
+    }
+
+    @Override
+    public void onTab(final Consumer<String> handler) {
+        tabHandler = handler;
+    }
+
+    @Override
+    public String getName() {
+        return "headless";
+    }
+
+    /**
+     * Simulates the user submitting a line.
+     *
+     * @param line the input line
+     * @throws IllegalStateException if no input handler is registered
+     */
+    public void submit(final String line) {
+        final Consumer<String> handler = inputHandler;
+        if (handler == null) {
+            throw new IllegalStateException("No input handler registered");
+        }
+        handler.accept(line);
+    }
+
+    /**
+     * Simulates the user pressing tab.
+     *
+     * @param buffer the current input buffer
+     * @return the candidates added by the tab handler
+     * @throws IllegalStateException if no tab handler is registered
+     */
+    public List<String> complete(final String buffer) {
+        final Consumer<String> handler = tabHandler;
+        if (handler == null) {
+            throw new IllegalStateException("No tab handler registered");
+        }
+        synchronized (this) {
+            candidates = new ArrayList<>();
+        }
+        handler.accept(buffer);
+        synchronized (this) {
+            final List<String> result = candidates;
+            candidates = null;
+            return result;
+        }
+    }
+
+    /**
+     * Returns the most recent writes, oldest first.
+     */
+    public synchronized List<String> getOutput() {
+        return new ArrayList<>(output);
+    }
+
+    /**
+     * Returns the number of writes of a kind since the last {@link #clear()}.
+     */
+    public long getCount(final Kind kind) {
+        return counts[kind.ordinal()].sum();
+    }
+
+    public synchronized void clear() {
+        output.clear();
+        for (final LongAdder count : counts) {
+            count.reset();
+        }
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new HashMap<>();
+        for (final Kind kind : Kind.values()) {
+            stats.put(kind.name().toLowerCase(), counts[kind.ordinal()].sum());
+        }
+        stats.put("retained", output.size());
+        return stats;
+    }
+
+    private void record(final Kind kind, final String message) {
+        counts[kind.ordinal()].increment();
+        if (retainedLines == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (output.size() == retainedLines) {
+                output.removeFirst();
+            }
+            output.addLast(message);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.riege.rmc.terminal.command.bridge;
+
+import com.sun.jna.CallbackThreadInitializer;
+import com.sun.jna.Native;
+
+import java.util.function.Consumer;
+
+/**
+ * {@link TerminalBackend} calling {@code libriege_xterm} through the JNA {@link RustTerminal} proxy.
+ * <p>
+ * Strings are encoded into the calling thread's {@link NativeStringBuffer} and
+ * passed through the {@code Pointer} overloads, instead of letting JNA allocate,
+ * encode and free native memory on every call.
+ * </p>
+ * <p>
+ * Callbacks are registered so that JNA keeps the library's native thread
+ * attached between calls. By default JNA attaches and detaches it around every
+ * callback, which would give each tab press a fresh Java thread and therefore
+ * a fresh thread-local buffer for its {@code terminal_add_candidate} calls.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class JnaTerminalBackend implements TerminalBackend {
+
+    // Daemon, so a native thread left attached does not keep the JVM alive
+    private static final CallbackThreadInitializer KEEP_ATTACHED =
+            new CallbackThreadInitializer(true, false, "riege-xterm-callback");
+
+    private final RustTerminal terminal;
+
+    // Strong references: JNA only keeps weak references to registered callbacks
+    private RustTerminal.NativeCallback inputCallback;
+    private RustTerminal.NativeCallback tabCallback;
+
+    public JnaTerminalBackend(final RustTerminal terminal) {
+        if (terminal == null) {
+            throw new IllegalArgumentException("Terminal cannot be null");
+        }
+        this.terminal = terminal;
+    }
+
+    @Override
+    public void start() {
+        terminal.terminal_start();
+    }
+
+    @Override
+    public void close() {
+        terminal.terminal_close();
+    }
+
+    @Override
+    public void logInfo(final String message) {
+        terminal.terminal_log_info(NativeStringBuffer.forCurrentThread().toPointer(message));
+    }
+
+    @Override
+    public void logError(final String message) {
+        terminal.terminal_log_error(NativeStringBuffer.forCurrentThread().toPointer(message));
+    }
+
+    @Override
+    public void logSuccess(final String message) {
+        terminal.terminal_log_success(NativeStringBuffer.forCurrentThread().toPointer(message));
+    }
+
+    @Override
+    public void addCandidate(final String candidate) {
+        terminal.terminal_add_candidate(NativeStringBuffer.forCurrentThread().toPointer(candidate));
+    }
+
+    @Override
+    public synchronized void onInput(final Consumer<String> handler) {
+        inputCallback = handler::accept;
+        Native.setCallbackThreadInitializer(inputCallback, KEEP_ATTACHED);
+        terminal.terminal_register_input_callback(inputCallback);
+    }
+
+    @Override
+    public synchronized void onTab(final Consumer<String> handler) {
+        tabCallback = handler::accept;
+        Native.setCallbackThreadInitializer(tabCallback, KEEP_ATTACHED);
+        terminal.terminal_register_tab_callback(tabCallback);
+    }
+
+    @Override
+    public String getName() {
+        return "jna";
+    }
+}
@@ -0,0 +1,96 @@
+package com.riege.rmc.terminal.command.bridge;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable native buffer for passing strings to {@code libriege_xterm}.
+ * <p>
+ * Strings are encoded as NUL-terminated UTF-8 into a direct buffer that is
+ * kept for the lifetime of the owning thread and only grows when a string
+ * does not fit, so writing a large output or a long completion list does not
+ * allocate and free native memory for every line. The encoded string is only
+ * valid until the next call on the same thread, which is enough because the
+ * library copies its arguments before returning.
+ * </p>
+ * <p>
+ * Instances are not thread-safe; use {@link #forCurrentThread()}.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+final class NativeStringBuffer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_BYTES_PER_CHAR = 3;
+
+    private static final ThreadLocal<NativeStringBuffer> BUFFERS = ThreadLocal.withInitial(NativeStringBuffer::new);
+
+    private final CharsetEncoder encoder;
+    private ByteBuffer buffer;
+    private Pointer pointer;
+
+    private NativeStringBuffer() {
+        this.encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the buffer confined to the calling thread.
+     */
+    static NativeStringBuffer forCurrentThread() {
+        return BUFFERS.get();
+    }
+
+    /**
+     * Encodes a string into the buffer.
+     *
+     * @param value the string
+     * @return the direct buffer, positioned at the first byte and limited after the terminating NUL
+     */
+    ByteBuffer encode(final String value) {
+        while (true) {
+            buffer.clear();
+            encoder.reset();
+            final CoderResult result = encoder.encode(CharBuffer.wrap(value), buffer, true);
+            if (!result.isOverflow() && !encoder.flush(buffer).isOverflow() && buffer.hasRemaining()) {
+                buffer.put((byte) 0);
+                return buffer.flip();
+            }
+            grow((long) value.length() * MAX_BYTES_PER_CHAR + 1);
+        }
+    }
+
+    /**
+     * Encodes a string into the buffer for a JNA call.
+     *
+     * @param value the string
+     * @return the address of the encoded string
+     */
+    Pointer toPointer(final String value) {
+        encode(value);
+        if (pointer == null) {
+            pointer = Native.getDirectBufferPointer(buffer);
+        }
+        return pointer;
+    }
+
+    private void grow(final long required) {
+        final long capacity = Math.max((long) buffer.capacity() * 2, required);
+        if (capacity > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("String too large for a native call");
+        }
+        buffer = ByteBuffer.allocateDirect((int) capacity);
+        pointer = null;
+    }
+}
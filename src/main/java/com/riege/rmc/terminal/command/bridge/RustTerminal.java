@@ -2,35 +2,19 @@ package com.riege.rmc.terminal.command.bridge;
 
 import com.sun.jna.Library;
 import com.sun.jna.Native;
+import com.sun.jna.Pointer;
 import com.sun.jna.Callback;
 
-import java.io.File;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
 public interface RustTerminal extends Library {
 
     static String getLibraryName() {
-        String os = System.getProperty("os.name").toLowerCase();
-        if (os.contains("win")) {
-            return "riege_xterm.dll";
-        } else if (os.contains("mac")) {
-            return "libriege_xterm.dylib";
-        } else {
-            return "libriege_xterm.so";
-        }
+        return TerminalLibrary.fileName();
     }
 
     static RustTerminal loadLibrary() {
-        Path projectRoot = Paths.get(System.getProperty("user.dir"));
-        Path nativesDir = projectRoot.resolve("natives");
-        Path libraryPath = nativesDir.resolve(getLibraryName());
-
-        if (libraryPath.toFile().exists()) {
-            return Native.load(libraryPath.toAbsolutePath().toString(), RustTerminal.class);
-        }
-
-        return Native.load("riege_xterm", RustTerminal.class);
+        return TerminalLibrary.findBundled()
+                .map(path -> Native.load(path.toString(), RustTerminal.class))
+                .orElseGet(() -> Native.load(TerminalLibrary.NAME, RustTerminal.class));
     }
 
     RustTerminal INSTANCE = loadLibrary();
@@ -40,6 +24,13 @@ public interface RustTerminal extends Library {
     void terminal_log_error(String msg);
     void terminal_log_success(String msg);
     void terminal_add_candidate(String candidate);
+
+    // Pre-encoded NUL-terminated UTF-8, see NativeStringBuffer
+    void terminal_log_info(Pointer msg);
+    void terminal_log_error(Pointer msg);
+    void terminal_log_success(Pointer msg);
+    void terminal_add_candidate(Pointer candidate);
+
     interface NativeCallback extends Callback {
         void invoke(String data);
     }
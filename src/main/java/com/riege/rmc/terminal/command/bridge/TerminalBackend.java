@@ -0,0 +1,94 @@
+package com.riege.rmc.terminal.command.bridge;
+
+import java.util.function.Consumer;
+
+/**
+ * Terminal frontend used by the logger and the application entry point.
+ * <p>
+ * A backend renders log output, collects tab-completion candidates and
+ * reports user input through callbacks. Implementations:
+ * <ul>
+ *   <li>{@link JnaTerminalBackend} - {@code libriege_xterm} through the JNA {@link RustTerminal} proxy</li>
+ *   <li>{@link ForeignTerminalBackend} - {@code libriege_xterm} through cached
+ *       {@code java.lang.foreign} downcall handles</li>
+ *   <li>{@link AnsiTerminalBackend} - pure Java, on standard input and output</li>
+ *   <li>{@link HeadlessTerminalBackend} - in memory, for tests and benchmarks</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * TerminalBackend terminal = TerminalBackend.load(System.getProperty("rmc.terminal.backend", "jna"));
+ * terminal.onInput(manager::submit);
+ * terminal.start();
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public interface TerminalBackend {
+
+    /**
+     * Runs the terminal until it is closed. Blocks the calling thread.
+     */
+    void start();
+
+    /**
+     * Closes the terminal, making {@link #start()} return.
+     */
+    void close();
+
+    void logInfo(String message);
+
+    void logError(String message);
+
+    void logSuccess(String message);
+
+    /**
+     * Offers a tab-completion candidate; only valid while a tab callback runs.
+     */
+    void addCandidate(String candidate);
+
+    /**
+     * Sets the handler invoked with every line the user submits.
+     */
+    void onInput(Consumer<String> handler);
+
+    /**
+     * Sets the handler invoked with the current input buffer when the user presses tab.
+     */
+    void onTab(Consumer<String> handler);
+
+    /**
+     * Returns a short name identifying the implementation.
+     */
+    String getName();
+
+    /**
+     * Loads a backend by name.
+     *
+     * @param name {@code jna}, {@code ffm}, {@code ansi} or {@code headless}
+     * @return the loaded backend
+     * @throws IllegalArgumentException if the name is unknown
+     * @throws IllegalStateException    if the ffm backend is requested without {@code --enable-preview}
+     */
+    static TerminalBackend load(final String name) {
+        switch (name.toLowerCase()) {
+            case "jna":
+                return new JnaTerminalBackend(RustTerminal.INSTANCE);
+            case "ffm":
+                try {
+                    return ForeignTerminalBackend.load();
+                } catch (UnsupportedClassVersionError e) {
+                    throw new IllegalStateException("The ffm backend requires the JVM option --enable-preview", e);
+                }
+            case "ansi":
+                return new AnsiTerminalBackend();
+            case "headless":
+                return new HeadlessTerminalBackend(1000);
+            default:
+                throw new IllegalArgumentException("Unknown terminal backend: " + name);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.riege.rmc.terminal.command.bridge;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * Locates the {@code riege_xterm} native library for the native backends.
+ * <p>
+ * Kept apart from {@link RustTerminal}, whose initialization eagerly loads the
+ * library through JNA.
+ * </p>
+ */
+final class TerminalLibrary {
+
+    static final String NAME = "riege_xterm";
+
+    private TerminalLibrary() {
+    }
+
+    static String fileName() {
+        String os = System.getProperty("os.name").toLowerCase();
+        if (os.contains("win")) {
+            return "riege_xterm.dll";
+        } else if (os.contains("mac")) {
+            return "libriege_xterm.dylib";
+        } else {
+            return "libriege_xterm.so";
+        }
+    }
+
+    /**
+     * Returns the library bundled in the {@code natives} directory of the working directory, if present.
+     */
+    static Optional<Path> findBundled() {
+        Path libraryPath = Paths.get(System.getProperty("user.dir")).resolve("natives").resolve(fileName());
+        return Files.exists(libraryPath) ? Optional.of(libraryPath.toAbsolutePath()) : Optional.empty();
+    }
+}
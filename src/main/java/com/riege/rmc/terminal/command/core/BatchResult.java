@@ -0,0 +1,97 @@
+package com.riege.rmc.terminal.command.core;
+
+import java.util.List;
+
+/**
+ * Aggregated outcome of a batch command execution.
+ * <p>
+ * Results are stored in the same order as the submitted inputs, so the
+ * result at index {@code i} belongs to the input at index {@code i}. Inputs
+ * that did not complete because the batch was interrupted count as failed and
+ * are also listed in {@link #unfinished()}.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public record BatchResult(List<Boolean> results, List<Integer> unfinished) {
+
+    /**
+     * Creates a new batch result.
+     *
+     * @param results    the per-input results, in submission order
+     * @param unfinished the indices of the inputs that did not complete, ascending
+     */
+    public BatchResult {
+        results = List.copyOf(results);
+        unfinished = List.copyOf(unfinished);
+    }
+
+    /**
+     * Creates the result of a batch in which every input completed.
+     *
+     * @param results the per-input results, in submission order
+     */
+    public BatchResult(final List<Boolean> results) {
+        this(results, List.of());
+    }
+
+    /**
+     * Checks if every input ran to completion, successfully or not.
+     *
+     * @return {@code false} if the batch was interrupted before some inputs completed
+     */
+    public boolean isComplete() {
+        return unfinished.isEmpty();
+    }
+
+    /**
+     * Returns the result for the input at the given index.
+     *
+     * @param index the input index
+     * @return {@code true} if that input executed successfully
+     */
+    public boolean get(final int index) {
+        return results.get(index);
+    }
+
+    /**
+     * Returns the number of inputs in the batch.
+     *
+     * @return the batch size
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * Returns the number of inputs that executed successfully.
+     *
+     * @return the success count
+     */
+    public int successCount() {
+        int count = 0;
+        for (final Boolean result : results) {
+            if (result) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of inputs that failed.
+     *
+     * @return the failure count
+     */
+    public int failureCount() {
+        return results.size() - successCount();
+    }
+
+    /**
+     * Checks if every input in the batch executed successfully.
+     *
+     * @return {@code true} if no input failed
+     */
+    public boolean allSucceeded() {
+        return successCount() == results.size();
+    }
+}
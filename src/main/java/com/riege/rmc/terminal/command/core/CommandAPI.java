@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Public API for programmatic interaction with the command framework.
@@ -222,6 +224,62 @@ public class CommandAPI {
         return CompletableFuture.supplyAsync(() -> executeCommand(input));
     }
 
+    /**
+     * Executes a batch of commands with default sender.
+     * <p>
+     * Inputs are tokenized and resolved up front, grouped by command and
+     * dispatched through a shared middleware pipeline. Commands marked as
+     * concurrent are executed in parallel.
+     * </p>
+     *
+     * @param inputs the command inputs
+     * @return the aggregated results, in input order
+     * @throws IllegalStateException if API is not initialized
+     */
+    public BatchResult executeBatch(final List<String> inputs) {
+        ensureInitialized();
+        return framework.executeBatch(inputs);
+    }
+
+    /**
+     * Executes a batch of commands.
+     *
+     * @param inputs the command inputs
+     * @param sender the command sender
+     * @return the aggregated results, in input order
+     * @throws IllegalStateException if API is not initialized
+     */
+    public BatchResult executeBatch(final List<String> inputs, final String sender) {
+        ensureInitialized();
+        return framework.executeBatch(inputs, sender);
+    }
+
+    /**
+     * Executes a stream of commands as a single batch with default sender.
+     * <p>
+     * The stream is fully consumed before any command is dispatched.
+     * </p>
+     *
+     * @param inputs the command inputs
+     * @return the aggregated results, in encounter order
+     * @throws IllegalStateException if API is not initialized
+     */
+    public BatchResult executeBatch(final Stream<String> inputs) {
+        return executeBatch(inputs.collect(Collectors.toList()));
+    }
+
+    /**
+     * Executes a stream of commands as a single batch.
+     *
+     * @param inputs the command inputs
+     * @param sender the command sender
+     * @return the aggregated results, in encounter order
+     * @throws IllegalStateException if API is not initialized
+     */
+    public BatchResult executeBatch(final Stream<String> inputs, final String sender) {
+        return executeBatch(inputs.collect(Collectors.toList()), sender);
+    }
+
     // ========== Query Methods ==========
 
     /**
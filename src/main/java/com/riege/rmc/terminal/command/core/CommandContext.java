@@ -3,6 +3,8 @@ package com.riege.rmc.terminal.command.core;
 import com.riege.rmc.terminal.logging.Logger;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Execution context for command handlers.
@@ -74,6 +76,16 @@ public class CommandContext {
      */
     private String usage;
 
+    /**
+     * Outcome of the handler, completed once it has finished running.
+     */
+    private final CompletableFuture<Boolean> completion;
+
+    /**
+     * Whether the handler was submitted to run after the middleware chain returns.
+     */
+    private volatile boolean completionDeferred;
+
     /**
      * Constructs a CommandContext with the specified parameters.
      *
@@ -93,6 +105,7 @@ public class CommandContext {
         this.sender = sender;
         this.data = new HashMap<>();
         this.usage = "";
+        this.completion = new CompletableFuture<>();
 
         // Parse options and flags from args
         this.options = OptionParser.parseWithQuotes(args != null ? args : new String[0]);
@@ -626,4 +639,37 @@ public class CommandContext {
                 ", sender='" + sender + '\'' +
                 '}';
     }
+
+    // ========== Completion ==========
+
+    /**
+     * Returns the outcome of this execution: {@code true} if the handler ran
+     * without throwing. For an async handler it completes on the executor thread,
+     * after the middleware chain has already returned; if the chain stops before
+     * reaching the handler, it completes with the chain's result.
+     *
+     * @return the completion stage
+     */
+    public CompletionStage<Boolean> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Marks the handler as running asynchronously, so the framework leaves
+     * completion to the handler task.
+     */
+    void deferCompletion() {
+        completionDeferred = true;
+    }
+
+    boolean isCompletionDeferred() {
+        return completionDeferred;
+    }
+
+    /**
+     * Records the outcome; only the first call has an effect.
+     */
+    void complete(final boolean success) {
+        completion.complete(success);
+    }
 }
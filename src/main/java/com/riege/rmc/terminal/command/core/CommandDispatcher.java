@@ -0,0 +1,249 @@
+package com.riege.rmc.terminal.command.core;
+
+import com.riege.rmc.terminal.logging.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Decouples input producers from command execution.
+ * <p>
+ * Producers (typically native terminal callbacks) only enqueue raw input onto
+ * a lock-free multi-producer queue and return immediately. A single dedicated
+ * dispatcher thread drains the queue and hands each input to the consumer, so a
+ * slow command handler never blocks the producing thread.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * CommandDispatcher dispatcher = new CommandDispatcher(manager::execute);
+ * dispatcher.start();
+ *
+ * // From any thread
+ * dispatcher.submit("help");
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public class CommandDispatcher {
+
+    private static final String DEFAULT_THREAD_NAME = "CommandFramework-Dispatcher";
+
+    private final Consumer<String> consumer;
+    private final Queue<Entry> queue;
+    private final Thread thread;
+
+    private final AtomicInteger pending;
+    private final AtomicLong dispatched;
+    private final AtomicLong lastLagNanos;
+    private final AtomicLong maxLagNanos;
+
+    private volatile boolean running;
+
+    /**
+     * Creates a new dispatcher with the default thread name.
+     *
+     * @param consumer the consumer invoked on the dispatcher thread for each input
+     */
+    public CommandDispatcher(final Consumer<String> consumer) {
+        this(consumer, DEFAULT_THREAD_NAME);
+    }
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param consumer   the consumer invoked on the dispatcher thread for each input
+     * @param threadName the name of the dispatcher thread
+     */
+    public CommandDispatcher(final Consumer<String> consumer, final String threadName) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        this.consumer = consumer;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.pending = new AtomicInteger();
+        this.dispatched = new AtomicLong();
+        this.lastLagNanos = new AtomicLong();
+        this.maxLagNanos = new AtomicLong();
+        this.thread = new Thread(this::drainLoop, threadName);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the dispatcher thread.
+     *
+     * @throws IllegalStateException if the dispatcher was already started
+     */
+    public synchronized void start() {
+        if (running || thread.isAlive()) {
+            throw new IllegalStateException("Dispatcher already started");
+        }
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Enqueues an input for dispatch.
+     * <p>
+     * This method never blocks and is safe to call from any thread.
+     * </p>
+     *
+     * @param input the raw input
+     * @return {@code true} if the input will be dispatched; {@code false} if the dispatcher is stopped
+     */
+    public boolean submit(final String input) {
+        if (input == null || !running) {
+            return false;
+        }
+        final Entry entry = new Entry(input, System.nanoTime());
+        pending.incrementAndGet();
+        queue.offer(entry);
+        // A concurrent shutdown may have let the loop exit before the offer; take the entry back
+        if (!running && queue.remove(entry)) {
+            pending.decrementAndGet();
+            return false;
+        }
+        LockSupport.unpark(thread);
+        return true;
+    }
+
+    /**
+     * Stops the dispatcher after the inputs already queued have been drained.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Waits for the dispatcher thread to drain the queue and exit after {@link #shutdown()}.
+     * Returns immediately when called from the dispatcher thread itself.
+     *
+     * @param timeoutMillis the maximum time to wait
+     * @return {@code true} if the dispatcher thread has exited
+     */
+    public boolean awaitTermination(final long timeoutMillis) {
+        if (Thread.currentThread() == thread) {
+            return false;
+        }
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !thread.isAlive();
+    }
+
+    /**
+     * Returns the number of inputs waiting to be dispatched.
+     *
+     * @return the queue depth
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Returns the total number of inputs dispatched so far.
+     *
+     * @return the dispatched count
+     */
+    public long getDispatchedCount() {
+        return dispatched.get();
+    }
+
+    /**
+     * Returns the queue lag of the most recently dispatched input.
+     *
+     * @return the time between enqueue and dispatch, in nanoseconds
+     */
+    public long getLastLagNanos() {
+        return lastLagNanos.get();
+    }
+
+    /**
+     * Returns the highest queue lag observed since startup.
+     *
+     * @return the maximum time between enqueue and dispatch, in nanoseconds
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos.get();
+    }
+
+    /**
+     * Checks if the dispatcher is accepting input.
+     *
+     * @return {@code true} if running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns statistics about the dispatch queue.
+     *
+     * @return a map containing dispatcher statistics
+     */
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new HashMap<>();
+        stats.put("pending", pending.get());
+        stats.put("dispatched", dispatched.get());
+        stats.put("last_lag_ns", lastLagNanos.get());
+        stats.put("max_lag_ns", maxLagNanos.get());
+        return stats;
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            final Entry entry = queue.poll();
+            if (entry == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            pending.decrementAndGet();
+
+            final long lag = System.nanoTime() - entry.enqueuedAt();
+            lastLagNanos.set(lag);
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+
+            try {
+                consumer.accept(entry.input());
+            } catch (Throwable e) {
+                // Keep the only dispatch thread alive, even on errors such as StackOverflowError
+                reportFailure(entry, e);
+            }
+            dispatched.incrementAndGet();
+        }
+    }
+
+    private static void reportFailure(final Entry entry, final Throwable failure) {
+        try {
+            Logger.error("Dispatch failed for '" + entry.input() + "': " + failure);
+        } catch (Throwable e) {
+            System.err.println("Dispatch failed for '" + entry.input() + "': " + failure);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CommandDispatcher{" +
+                "pending=" + pending.get() +
+                ", dispatched=" + dispatched.get() +
+                ", maxLagNs=" + maxLagNanos.get() +
+                '}';
+    }
+
+    /**
+     * A queued input with its enqueue timestamp.
+     */
+    private record Entry(String input, long enqueuedAt) {
+    }
+}
@@ -3,12 +3,19 @@ package com.riege.rmc.terminal.command.core;
 import com.riege.rmc.terminal.logging.Logger;
 import com.riege.rmc.terminal.command.annotations.*;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * main.java.com.riege.rmc.Main command framework for annotation-based command processing.
@@ -25,14 +32,23 @@ public class CommandFramework {
     private final CommandRegistry registry;
     private final ExecutorService asyncExecutor;
     private final Map<String, CommandRouter> routers;
+    // Written under the framework lock together with the compiled pipelines
     private final List<CommandMiddleware> globalMiddlewares;
+    private final Map<String, RouterPipeline> routerPipelines;
     private final RouterScanner routerScanner;
+    private final FailureTracker failureTracker;
+
+    // Precompiled chain of global middlewares, rebuilt whenever the middleware set changes
+    private volatile CommandPipeline globalPipeline;
 
     // Default permission provider (allows everything by default)
     private PermissionProvider permissionProvider = (sender, node) -> true;
 
     private static final String DEFAULT_SENDER = "console";
 
+    // Upper bound on the threads one concurrent batch run occupies
+    private static final int BATCH_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
     public CommandFramework() {
         this.registry = new CommandRegistry();
         this.asyncExecutor = Executors.newCachedThreadPool(r -> {
@@ -41,8 +57,11 @@ public class CommandFramework {
             return thread;
         });
         this.routers = new ConcurrentHashMap<>();
-        this.globalMiddlewares = new ArrayList<>();
+        this.globalMiddlewares = new CopyOnWriteArrayList<>();
+        this.routerPipelines = new ConcurrentHashMap<>();
         this.routerScanner = new RouterScanner();
+        this.failureTracker = new FailureTracker(256, Duration.ofMinutes(1));
+        this.globalPipeline = new CommandPipeline(List.of());
     }
 
     /**
@@ -62,18 +81,67 @@ public class CommandFramework {
 
     public boolean registerCommand(final Object commandHandler) {
         if (commandHandler == null) throw new IllegalArgumentException("Handler cannot be null");
+        return registerCommand(LazyInstance.of(commandHandler), null);
+    }
+
+    /**
+     * Registers a command class without instantiating it. The command is created
+     * with its no-arg constructor on first invocation.
+     *
+     * @param commandClass the command class
+     * @return true if the command was registered
+     */
+    public boolean registerCommand(final Class<?> commandClass) {
+        if (commandClass == null) throw new IllegalArgumentException("Command class cannot be null");
+        return registerCommand(LazyInstance.ofClass(commandClass), null);
+    }
+
+    /**
+     * Registers several command handlers, publishing them to the registry in
+     * one atomic step. Prefer this over repeated {@link #registerCommand(Object)}
+     * calls when loading many commands, since every publish copies the registry.
+     *
+     * @param commandHandlers the command handler instances
+     * @return the number of registered commands
+     */
+    public int registerCommands(final Collection<?> commandHandlers) {
+        if (commandHandlers == null) throw new IllegalArgumentException("Handlers cannot be null");
+        final List<CommandInfo> commands = new ArrayList<>(commandHandlers.size());
+        for (final Object commandHandler : commandHandlers) {
+            if (commandHandler == null) throw new IllegalArgumentException("Handler cannot be null");
+            final CommandInfo commandInfo = describe(LazyInstance.of(commandHandler), null);
+            if (commandInfo != null) commands.add(commandInfo);
+        }
+        return publish(commands);
+    }
+
+    private boolean registerCommand(final LazyInstance commandHandler, final String routerName) {
+        final CommandInfo commandInfo = describe(commandHandler, routerName);
+        if (commandInfo == null) return false;
+
+        registry.register(commandInfo);
+        Logger.debug("Registered command: %s", commandInfo.getName());
+        return true;
+    }
 
-        final Class<?> clazz = commandHandler.getClass();
+    /**
+     * Reads the metadata of a command class into an immutable CommandInfo.
+     * Has no side effects, so commands can be described on any thread.
+     *
+     * @return the command, or null if it is disabled
+     */
+    private CommandInfo describe(final LazyInstance commandHandler, final String routerName) {
+        final Class<?> clazz = commandHandler.getType();
         final Command commandAnnotation = clazz.getAnnotation(Command.class);
 
         if (commandAnnotation == null) {
             throw new IllegalArgumentException("Class " + clazz.getName() + " is not annotated with @Command");
         }
 
-        if (!commandAnnotation.enabled()) return false;
+        if (!commandAnnotation.enabled()) return null;
 
-        final CommandInfo commandInfo = new CommandInfo(commandAnnotation, commandHandler);
-        boolean foundHandler = false;
+        final CommandInfo.Builder builder = CommandInfo.builder(commandAnnotation, commandHandler)
+                .routerName(routerName);
 
         // Use getMethods() to include inherited methods from superclasses
         for (final Method method : clazz.getMethods()) {
@@ -81,26 +149,40 @@ public class CommandFramework {
             if (handlerAnnotation != null) {
                 // We no longer strictly enforce just (CommandContext ctx)
                 // We allow parameter injection now.
-                commandInfo.addHandler(method, handlerAnnotation);
-                foundHandler = true;
+                builder.handler(method, handlerAnnotation);
             }
         }
 
-        if (!foundHandler) {
+        if (!builder.hasHandlers()) {
             throw new IllegalArgumentException("No @CommandHandler methods found in " + clazz.getName());
         }
 
         final List<String> basePath = new ArrayList<>();
         basePath.add(commandAnnotation.name());
-        final Map<String, SubCommandInfo> subCommands = routerScanner.scanSubCommands(clazz, commandHandler, basePath);
+        return builder.subCommands(routerScanner.scanSubCommands(clazz, commandHandler, basePath)).build();
+    }
 
-        for (final Map.Entry<String, SubCommandInfo> entry : subCommands.entrySet()) {
-            commandInfo.addSubCommand(entry.getKey(), entry.getValue());
+    /**
+     * Describes every enabled command of a router class.
+     */
+    private List<CommandInfo> describeRouter(final Class<?> routerClass) {
+        final List<CommandInfo> commands = new ArrayList<>();
+        for (final LazyInstance command : routerScanner.scanRouter(routerClass)) {
+            final CommandInfo commandInfo = describe(command, null);
+            if (commandInfo != null) commands.add(commandInfo);
         }
+        return commands;
+    }
 
-        registry.register(commandInfo);
-        Logger.debug("Registered command: " + commandAnnotation.name());
-        return true;
+    /**
+     * Publishes described commands to the registry in one atomic step.
+     */
+    private int publish(final List<CommandInfo> commands) {
+        registry.registerAll(commands);
+        for (final CommandInfo commandInfo : commands) {
+            Logger.debug("Registered command: %s", commandInfo.getName());
+        }
+        return commands.size();
     }
 
     // ================= Execution Logic =================
@@ -124,7 +206,161 @@ public class CommandFramework {
             return false;
         }
 
-        final CommandInfo commandInfo = commandOptional.get();
+        return dispatch(commandOptional.get(), commandName, args, rawInput, sender);
+    }
+
+    /**
+     * Executes a batch of raw inputs with the default sender.
+     *
+     * @param inputs the raw command inputs
+     * @return the aggregated results, in input order
+     */
+    public BatchResult executeBatch(final List<String> inputs) {
+        return executeBatch(inputs, DEFAULT_SENDER);
+    }
+
+    /**
+     * Executes a batch of raw inputs.
+     * <p>
+     * All inputs are tokenized and resolved up front, with one registry lookup
+     * per distinct command name. Consecutive entries resolving to the same command
+     * form a run that shares that command's precompiled middleware pipeline; blank
+     * and unknown entries are reported at resolution and do not break a run.
+     * Runs execute one after another in input order. Within a run, entries of a
+     * {@link Command#concurrent()} command are dispatched in parallel by at most
+     * one worker per available processor, and the run completes before the next
+     * one starts; all other entries run on the calling thread in input order. A
+     * script such as {@code create x; delete x; create y} therefore executes
+     * exactly as written.
+     * </p>
+     * <p>
+     * If the calling thread is interrupted, the workers of the current run are
+     * cancelled, no further entry is started, and the entries without an outcome
+     * are listed in {@link BatchResult#unfinished()}.
+     * </p>
+     *
+     * @param inputs the raw command inputs
+     * @param sender the command sender
+     * @return the aggregated results, in input order
+     */
+    public BatchResult executeBatch(final List<String> inputs, final String sender) {
+        if (inputs == null) throw new IllegalArgumentException("Inputs cannot be null");
+
+        final AtomicReferenceArray<Boolean> results = new AtomicReferenceArray<>(inputs.size());
+        final Map<String, Optional<CommandInfo>> resolved = new HashMap<>();
+        final List<BatchRun> runs = new ArrayList<>();
+
+        for (int i = 0; i < inputs.size(); i++) {
+            final String input = inputs.get(i);
+            if (input == null || input.trim().isEmpty()) {
+                results.set(i, false);
+                continue;
+            }
+
+            final String[] parts = input.trim().split("\\s+");
+            final String commandName = parts[0].toLowerCase();
+            final Optional<CommandInfo> commandInfo = resolved.computeIfAbsent(commandName, registry::getCommand);
+
+            if (commandInfo.isEmpty()) {
+                Logger.error("Unknown command: " + commandName);
+                results.set(i, false);
+                continue;
+            }
+
+            BatchRun run = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            if (run == null || run.commandInfo() != commandInfo.get()) {
+                run = new BatchRun(commandInfo.get(), new ArrayList<>());
+                runs.add(run);
+            }
+            run.entries().add(new BatchEntry(i, commandName, Arrays.copyOfRange(parts, 1, parts.length), input));
+        }
+
+        for (final BatchRun run : runs) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            final CommandInfo commandInfo = run.commandInfo();
+            if (commandInfo.isConcurrent() && run.entries().size() > 1) {
+                if (!runConcurrently(run, sender, results)) {
+                    break;
+                }
+            } else {
+                for (final BatchEntry entry : run.entries()) {
+                    results.set(entry.index(), dispatchEntry(commandInfo, entry, sender));
+                }
+            }
+        }
+
+        final List<Boolean> ordered = new ArrayList<>(results.length());
+        final List<Integer> unfinished = new ArrayList<>();
+        for (int i = 0; i < results.length(); i++) {
+            final Boolean result = results.get(i);
+            if (result == null) {
+                unfinished.add(i);
+            }
+            ordered.add(result != null && result);
+        }
+        if (!unfinished.isEmpty()) {
+            Logger.warning("Batch interrupted, " + unfinished.size() + " of " + results.length()
+                    + " entries did not complete");
+        }
+        return new BatchResult(ordered, unfinished);
+    }
+
+    /**
+     * Dispatches the entries of a concurrent run on a bounded number of workers,
+     * each claiming the next entry until the run is exhausted.
+     *
+     * @return {@code false} if the calling thread was interrupted and the run was cancelled
+     */
+    private boolean runConcurrently(final BatchRun run, final String sender,
+                                    final AtomicReferenceArray<Boolean> results) {
+        final List<BatchEntry> entries = run.entries();
+        final AtomicInteger next = new AtomicInteger();
+        final int workers = Math.min(BATCH_PARALLELISM, entries.size());
+        final List<Future<?>> pending = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            pending.add(asyncExecutor.submit(() -> {
+                int index;
+                while (!Thread.currentThread().isInterrupted() && (index = next.getAndIncrement()) < entries.size()) {
+                    final BatchEntry entry = entries.get(index);
+                    results.set(entry.index(), dispatchEntry(run.commandInfo(), entry, sender));
+                }
+            }));
+        }
+
+        for (final Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                // Stop claiming entries, then interrupt the ones in progress
+                next.set(entries.size());
+                for (final Future<?> worker : pending) {
+                    worker.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                Logger.error("Batch worker failed: " + e.getCause().getMessage());
+            }
+        }
+        return true;
+    }
+
+    private boolean dispatchEntry(final CommandInfo commandInfo, final BatchEntry entry, final String sender) {
+        try {
+            return dispatch(commandInfo, entry.commandName(), entry.args(), entry.rawInput(), sender);
+        } catch (RuntimeException e) {
+            Logger.error("Batch entry failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Executes an already resolved command.
+     */
+    private boolean dispatch(final CommandInfo commandInfo, final String commandName, final String[] args,
+                             final String rawInput, final String sender) {
         if (!commandInfo.isEnabled()) {
             Logger.error("Command '" + commandName + "' is disabled");
             return false;
@@ -138,12 +374,6 @@ public class CommandFramework {
             return false;
         }
 
-        final CommandContext context = new CommandContext(
-                commandName, args, rawInput, sender != null ? sender : DEFAULT_SENDER
-        );
-        context.setData("commandInstance", commandInfo.getHandlerInstance());
-        if (!cmd.usage().isEmpty()) context.setUsage(cmd.usage());
-
         // Subcommand handling
         if (args.length > 0 && commandInfo.hasSubCommands()) {
             final SubCommandInfo subCommand = commandInfo.findSubCommand(args);
@@ -152,6 +382,16 @@ public class CommandFramework {
             }
         }
 
+        final Object instance = instantiate(commandName, commandInfo.getLazyInstance());
+        if (instance == null) return false;
+
+        final CommandContext context = new CommandContext(
+                commandName, args, rawInput, sender != null ? sender : DEFAULT_SENDER
+        );
+        context.setData("commandInstance", instance);
+        if (commandInfo.getRouterName() != null) context.setData("router", commandInfo.getRouterName());
+        if (!cmd.usage().isEmpty()) context.setUsage(cmd.usage());
+
         final CommandInfo.HandlerInfo handler = commandInfo.findHandler(context);
         if (handler == null) {
             Logger.error("No handler found for command: " + commandName);
@@ -161,49 +401,114 @@ public class CommandFramework {
         return executeWithMiddleware(commandInfo, handler, context);
     }
 
-    private boolean executeSubCommand(final SubCommandInfo subCommand, final CommandInfo parentInfo, final String[] args, final String rawInput, final String sender) {
+    private boolean executeSubCommand(final SubCommandInfo subCommand, final CommandInfo parentInfo, final String[] args,
+                                      final String rawInput, final String sender) {
         final int pathLength = subCommand.getPath().size() - 1;
         final String[] subArgs = Arrays.copyOfRange(args, pathLength, args.length);
 
+        if (subCommand.getHandler() == null) return false;
+
+        final Object parentInstance = instantiate(subCommand.getCommandString(), parentInfo.getLazyInstance());
+        final Object subInstance = parentInstance == null ? null
+                : instantiate(subCommand.getCommandString(), subCommand.getLazyInstance());
+        if (subInstance == null) return false;
+
         final CommandContext context = new CommandContext(
                 subCommand.getCommandString(), subArgs, rawInput, sender != null ? sender : DEFAULT_SENDER
         );
 
-        context.setData("commandInstance", parentInfo.getHandlerInstance());
-        context.setData("subCommandInstance", subCommand.getInstance());
+        context.setData("commandInstance", parentInstance);
+        context.setData("subCommandInstance", subInstance);
+        if (parentInfo.getRouterName() != null) context.setData("router", parentInfo.getRouterName());
+        if (!subCommand.getAnnotation().usage().isEmpty()) context.setUsage(subCommand.getAnnotation().usage());
 
-        if (subCommand.getHandler() == null) return false;
-
-        // Execute logic (simplified for subcommands, usually reuse middleware logic)
-        return executeSubCommandWithMiddleware(subCommand, context);
+        // Subcommands run through their parent's chain, so router-level checks apply to nested handlers too
+        return executeSubCommandWithMiddleware(subCommand, parentInfo, context);
     }
 
     // ================= Middleware Pipeline =================
 
-    private boolean executeWithMiddleware(final CommandInfo commandInfo, final CommandInfo.HandlerInfo handler, final CommandContext context) {
+    private boolean executeWithMiddleware(final CommandInfo commandInfo, final CommandInfo.HandlerInfo handler,
+                                          final CommandContext context) {
+        final boolean result = pipelineFor(commandInfo).execute(context, () -> invokeHandler(commandInfo.getHandlerInstance(), handler.getMethod(), handler.isAsync(), context));
+        if (!context.isCompletionDeferred()) context.complete(result);
+        return result;
+    }
+
+    private boolean executeSubCommandWithMiddleware(final SubCommandInfo subCommand, final CommandInfo parentInfo,
+                                                    final CommandContext context) {
+        final boolean result = pipelineFor(parentInfo).execute(context, () -> invokeHandler(subCommand.getInstance(), subCommand.getHandler(), subCommand.isAsync(), context));
+        if (!context.isCompletionDeferred()) context.complete(result);
+        return result;
+    }
+
+    /**
+     * Returns the precompiled pipeline for a command: its router's chain if it
+     * was registered through a router, the global chain otherwise.
+     */
+    private CommandPipeline pipelineFor(final CommandInfo commandInfo) {
+        final String routerName = commandInfo.getRouterName();
+        if (routerName != null) {
+            RouterPipeline compiled = routerPipelines.get(routerName);
+            if (compiled != null) {
+                if (compiled.revision() != compiled.router().getRevision()) {
+                    compiled = recompile(compiled.router());
+                }
+                return compiled.pipeline();
+            }
+        }
+        return globalPipeline;
+    }
+
+    private RouterPipeline compilePipeline(final CommandRouter router) {
+        // Read the revision first, so a middleware added during the copy leaves the result stale
+        final int revision = router.getRevision();
         final List<CommandMiddleware> allMiddlewares = new ArrayList<>(globalMiddlewares);
+        allMiddlewares.addAll(router.getMiddlewares());
+        return new RouterPipeline(router, revision, new CommandPipeline(List.copyOf(allMiddlewares)));
+    }
 
-        final String routerName = context.getData("router", null);
-        if (routerName != null && routers.containsKey(routerName)) {
-            allMiddlewares.addAll(routers.get(routerName).getMiddlewares());
+    /**
+     * Recompiles the chain of a router whose middlewares changed after registration.
+     */
+    private synchronized RouterPipeline recompile(final CommandRouter router) {
+        final RouterPipeline compiled = compilePipeline(router);
+        if (routers.get(router.getName()) == router) {
+            routerPipelines.put(router.getName(), compiled);
         }
+        return compiled;
+    }
 
-        final CommandPipeline pipeline = new CommandPipeline(allMiddlewares);
-        return pipeline.execute(context, () -> invokeHandler(commandInfo.getHandlerInstance(), handler.getMethod(), handler.isAsync(), context));
+    private void compilePipelines() {
+        globalPipeline = new CommandPipeline(List.copyOf(globalMiddlewares));
+        for (final CommandRouter router : routers.values()) {
+            routerPipelines.put(router.getName(), compilePipeline(router));
+        }
     }
 
-    private boolean executeSubCommandWithMiddleware(final SubCommandInfo subCommand, final CommandContext context) {
-        final List<CommandMiddleware> allMiddlewares = new ArrayList<>(globalMiddlewares);
-        final CommandPipeline pipeline = new CommandPipeline(allMiddlewares);
+    /**
+     * A tokenized batch input awaiting dispatch.
+     */
+    private record BatchEntry(int index, String commandName, String[] args, String rawInput) {
+    }
 
-        // Note: Subcommands usually don't support async annotation directly in this impl, default to sync
-        return pipeline.execute(context, () -> invokeHandler(subCommand.getInstance(), subCommand.getHandler(), false, context));
+    /**
+     * Consecutive batch entries resolved to the same command.
+     */
+    private record BatchRun(CommandInfo commandInfo, List<BatchEntry> entries) {
+    }
+
+    /**
+     * Compiled chain of a router, valid while the router's revision is unchanged.
+     */
+    private record RouterPipeline(CommandRouter router, int revision, CommandPipeline pipeline) {
     }
 
     // ================= Parameter Injection & Invocation =================
 
     /**
-     * Invokes the method with automatic parameter resolution.
+     * Invokes the method with automatic parameter resolution and completes the
+     * context with its outcome, on the executor thread for async handlers.
      */
     private boolean invokeHandler(final Object instance, final Method method, final boolean async, final CommandContext context) {
         final Runnable execution = () -> {
@@ -211,15 +516,16 @@ public class CommandFramework {
                 // CORE LOGIC: Resolve parameters based on annotations
                 final Object[] params = resolveParameters(method, context);
                 method.invoke(instance, params);
+                context.complete(true);
             } catch (Exception e) {
-                Logger.error("Error executing command '" + context.getCommandName() + "'");
-                Throwable cause = e.getCause() != null ? e.getCause() : e;
-                Logger.error("Reason: " + cause.getMessage());
-                // cause.printStackTrace(); // Uncomment for debug
+                Throwable cause = e instanceof InvocationTargetException && e.getCause() != null ? e.getCause() : e;
+                reportFailure(context.getCommandName(), cause);
+                context.complete(false);
             }
         };
 
         if (async) {
+            context.deferCompletion();
             asyncExecutor.submit(execution);
         } else {
             execution.run();
@@ -227,6 +533,38 @@ public class CommandFramework {
         return true;
     }
 
+    /**
+     * Returns a command instance, creating it on first use. A failing
+     * constructor is reported like a failing handler.
+     *
+     * @return the instance, or null if it could not be created
+     */
+    private Object instantiate(final String commandName, final LazyInstance instance) {
+        try {
+            return instance.get();
+        } catch (IllegalStateException e) {
+            reportFailure(commandName, e.getCause() != null ? e.getCause() : e);
+            return null;
+        }
+    }
+
+    /**
+     * Logs a handler failure. The first occurrence of a fingerprint in each window
+     * is logged with its stack trace; repeats are logged as one line that is
+     * identical for every repeat, so the log throttle can collapse them. Counts
+     * are available from the {@code failures} command.
+     */
+    private void reportFailure(final String commandName, final Throwable cause) {
+        final FailureTracker.Fingerprint fingerprint = failureTracker.record(commandName, cause);
+        if (fingerprint.firstInWindow()) {
+            Logger.error("Error executing command '" + commandName + "' [failure " + fingerprint.id() + "]");
+            Logger.error("Reason: " + fingerprint.sampleTrace().stripTrailing());
+        } else {
+            Logger.error("Error executing command '" + commandName + "': " + cause.getClass().getSimpleName()
+                    + " [failure " + fingerprint.id() + "]");
+        }
+    }
+
     /**
      * Maps CommandContext data to method parameters using reflection and annotations.
      */
@@ -348,38 +686,99 @@ public class CommandFramework {
 
     public CommandRegistry getRegistry() { return registry; }
 
+    public FailureTracker getFailureTracker() { return failureTracker; }
+
     public boolean unregisterCommand(final String name) { return registry.unregister(name); }
 
+    /**
+     * Unregisters several commands in one atomic step, e.g. when a plugin is unloaded.
+     *
+     * @return the number of commands removed
+     */
+    public int unregisterCommands(final Collection<String> names) { return registry.unregisterAll(names); }
+
     public boolean hasCommand(final String name) { return registry.hasCommand(name); }
 
     public boolean registerRouter(final Class<?> routerClass) {
-        List<Object> commands = routerScanner.scanRouter(routerClass);
-        int count = 0;
-        for (Object cmd : commands) {
-            if (registerCommand(cmd)) count++;
-        }
-        return count > 0;
+        return publish(describeRouter(routerClass)) > 0;
+    }
+
+    /**
+     * Registers the commands of several router classes.
+     * <p>
+     * Routers are scanned and their commands described in parallel on the
+     * common ForkJoin pool, then published to the registry in one atomic step:
+     * lookups see either none or all of the new commands. If a router cannot
+     * be scanned the exception is rethrown and nothing is registered.
+     * </p>
+     *
+     * @param routerClasses the router classes
+     * @return the number of registered commands
+     */
+    public int registerRouters(final Collection<Class<?>> routerClasses) {
+        return registerRouters(routerClasses, null);
+    }
+
+    /**
+     * Registers the commands of several router classes like
+     * {@link #registerRouters(Collection)}, recording the scan of each router
+     * as a {@code router.<name>} startup phase.
+     *
+     * @param routerClasses the router classes
+     * @param profiler      the startup profiler, or {@code null} to not time the scans
+     * @return the number of registered commands
+     */
+    public int registerRouters(final Collection<Class<?>> routerClasses, final StartupProfiler profiler) {
+        if (routerClasses == null) throw new IllegalArgumentException("Router classes cannot be null");
+        return publish(routerClasses.parallelStream()
+                .flatMap(routerClass -> (profiler == null ? describeRouter(routerClass)
+                        : profiler.measure(routerPhase(routerClass), () -> describeRouter(routerClass))).stream())
+                .toList());
     }
 
+    private static String routerPhase(final Class<?> routerClass) {
+        final Router router = routerClass.getAnnotation(Router.class);
+        return "router." + (router != null ? router.name() : routerClass.getSimpleName());
+    }
+
+    /**
+     * Registers all commands of a router.
+     * <p>
+     * The router's middleware chain is compiled at registration time and
+     * recompiled on the next command whenever the router gains a middleware.
+     * </p>
+     */
     public boolean registerRouter(final CommandRouter router) {
-        routers.put(router.getName(), router);
-        int count = 0;
+        final List<CommandInfo> commands = new ArrayList<>();
         for (Object cmd : router.getCommands().values()) {
-            if (registerCommand(cmd)) count++;
+            final CommandInfo commandInfo = describe(LazyInstance.of(cmd), router.getName());
+            if (commandInfo != null) commands.add(commandInfo);
         }
-        return count > 0;
+        addRouterPipeline(router);
+        return publish(commands) > 0;
     }
 
-    public CommandFramework use(final CommandMiddleware middleware) {
+    public synchronized CommandFramework use(final CommandMiddleware middleware) {
         globalMiddlewares.add(middleware);
+        compilePipelines();
         return this;
     }
 
+    private synchronized void addRouterPipeline(final CommandRouter router) {
+        routers.put(router.getName(), router);
+        routerPipelines.put(router.getName(), compilePipeline(router));
+    }
+
     public void shutdown() {
         asyncExecutor.shutdown();
         registry.clear();
-        routers.clear();
-        globalMiddlewares.clear();
+        synchronized (this) {
+            routers.clear();
+            routerPipelines.clear();
+            globalMiddlewares.clear();
+            globalPipeline = new CommandPipeline(List.of());
+        }
+        failureTracker.clear();
         Logger.info("Command framework shut down");
     }
 
@@ -11,6 +11,12 @@ import java.util.*;
  * <p>
  * This class encapsulates all information about a command including its
  * annotation metadata, handler methods, and the instance to invoke handlers on.
+ * The instance may be created lazily on first invocation, see {@link LazyInstance}.
+ * </p>
+ * <p>
+ * Instances are immutable and built with {@link #builder(Command, LazyInstance)},
+ * so a command can be described on any thread and safely shared once it is
+ * published in the {@link CommandRegistry}.
  * </p>
  *
  * @author riege
@@ -24,12 +30,12 @@ public class CommandInfo {
     private final Command command;
 
     /**
-     * The command handler instance.
+     * The command handler instance, possibly not created yet.
      */
-    private final Object handlerInstance;
+    private final LazyInstance handlerInstance;
 
     /**
-     * List of handler methods and their metadata.
+     * Handler methods, highest priority first.
      */
     private final List<HandlerInfo> handlers;
 
@@ -39,28 +45,30 @@ public class CommandInfo {
     private final Map<String, SubCommandInfo> subCommands;
 
     /**
-     * Constructs a CommandInfo with the specified parameters.
-     *
-     * @param command         the command annotation
-     * @param handlerInstance the handler instance
+     * Name of the router this command was registered through, or null.
      */
-    public CommandInfo(final Command command, final Object handlerInstance) {
-        this.command = Objects.requireNonNull(command, "Command annotation cannot be null");
-        this.handlerInstance = Objects.requireNonNull(handlerInstance, "Handler instance cannot be null");
-        this.handlers = new ArrayList<>();
-        this.subCommands = new HashMap<>();
+    private final String routerName;
+
+    private CommandInfo(final Builder builder) {
+        this.command = builder.command;
+        this.handlerInstance = builder.handlerInstance;
+        final List<HandlerInfo> sorted = new ArrayList<>(builder.handlers);
+        // Sort by priority (highest first)
+        sorted.sort((h1, h2) -> Integer.compare(h2.annotation.priority(), h1.annotation.priority()));
+        this.handlers = List.copyOf(sorted);
+        this.subCommands = Map.copyOf(builder.subCommands);
+        this.routerName = builder.routerName;
     }
 
     /**
-     * Adds a handler method to this command.
+     * Starts building a command.
      *
-     * @param method          the handler method
-     * @param handlerAnnotation the CommandHandler annotation
+     * @param command         the command annotation
+     * @param handlerInstance the handler instance, possibly created lazily
+     * @return a new builder
      */
-    public void addHandler(final Method method, final CommandHandler handlerAnnotation) {
-        handlers.add(new HandlerInfo(method, handlerAnnotation));
-        // Sort by priority (highest first)
-        handlers.sort((h1, h2) -> Integer.compare(h2.annotation.priority(), h1.annotation.priority()));
+    public static Builder builder(final Command command, final LazyInstance handlerInstance) {
+        return new Builder(command, handlerInstance);
     }
 
     /**
@@ -73,21 +81,31 @@ public class CommandInfo {
     }
 
     /**
-     * Returns the handler instance.
+     * Returns the handler instance, creating it on the first call.
      *
      * @return the handler instance
+     * @throws IllegalStateException if the instance cannot be created
      */
     public Object getHandlerInstance() {
+        return handlerInstance.get();
+    }
+
+    /**
+     * Returns the lazily created handler instance.
+     *
+     * @return the instance holder
+     */
+    public LazyInstance getLazyInstance() {
         return handlerInstance;
     }
 
     /**
      * Returns all handler methods.
      *
-     * @return unmodifiable list of handler information
+     * @return unmodifiable list of handler information, highest priority first
      */
     public List<HandlerInfo> getHandlers() {
-        return Collections.unmodifiableList(handlers);
+        return handlers;
     }
 
     /**
@@ -190,13 +208,21 @@ public class CommandInfo {
     }
 
     /**
-     * Adds a subcommand to this command.
+     * Returns the name of the router this command belongs to.
+     *
+     * @return the router name, or null if registered directly
+     */
+    public String getRouterName() {
+        return routerName;
+    }
+
+    /**
+     * Checks if this command may be executed concurrently.
      *
-     * @param path the full subcommand path
-     * @param info the subcommand info
+     * @return true if concurrent execution is allowed
      */
-    public void addSubCommand(final String path, final SubCommandInfo info) {
-        subCommands.put(path, info);
+    public boolean isConcurrent() {
+        return command.concurrent();
     }
 
     /**
@@ -210,10 +236,10 @@ public class CommandInfo {
             return null;
         }
 
-        // Try to match longest path first
+        // Try to match longest path first; registered paths start with the command name
         for (int i = args.length; i > 0; i--) {
             final String[] pathArgs = Arrays.copyOfRange(args, 0, i);
-            final String path = String.join(" ", pathArgs);
+            final String path = command.name() + " " + String.join(" ", pathArgs);
             final SubCommandInfo info = subCommands.get(path);
             if (info != null) {
                 return info;
@@ -229,7 +255,7 @@ public class CommandInfo {
      * @return unmodifiable map of subcommands
      */
     public Map<String, SubCommandInfo> getSubCommands() {
-        return Collections.unmodifiableMap(subCommands);
+        return subCommands;
     }
 
     /**
@@ -250,6 +276,67 @@ public class CommandInfo {
                 '}';
     }
 
+    /**
+     * Collects the parts of a {@link CommandInfo}. Builders are not thread-safe;
+     * the built instance is.
+     */
+    public static final class Builder {
+        private final Command command;
+        private final LazyInstance handlerInstance;
+        private final List<HandlerInfo> handlers;
+        private final Map<String, SubCommandInfo> subCommands;
+        private String routerName;
+
+        private Builder(final Command command, final LazyInstance handlerInstance) {
+            this.command = Objects.requireNonNull(command, "Command annotation cannot be null");
+            this.handlerInstance = Objects.requireNonNull(handlerInstance, "Handler instance cannot be null");
+            this.handlers = new ArrayList<>();
+            this.subCommands = new HashMap<>();
+        }
+
+        /**
+         * Sets the router the command is registered through.
+         *
+         * @param routerName the owning router name, or null for none
+         * @return this builder
+         */
+        public Builder routerName(final String routerName) {
+            this.routerName = routerName;
+            return this;
+        }
+
+        /**
+         * Adds a handler method.
+         *
+         * @param method            the handler method
+         * @param handlerAnnotation the CommandHandler annotation
+         * @return this builder
+         */
+        public Builder handler(final Method method, final CommandHandler handlerAnnotation) {
+            handlers.add(new HandlerInfo(method, handlerAnnotation));
+            return this;
+        }
+
+        /**
+         * Adds subcommands.
+         *
+         * @param subCommands the subcommands by full path
+         * @return this builder
+         */
+        public Builder subCommands(final Map<String, SubCommandInfo> subCommands) {
+            this.subCommands.putAll(subCommands);
+            return this;
+        }
+
+        public boolean hasHandlers() {
+            return !handlers.isEmpty();
+        }
+
+        public CommandInfo build() {
+            return new CommandInfo(this);
+        }
+    }
+
     /**
      * Stores information about a command handler method.
      */
@@ -5,12 +5,16 @@ import java.util.List;
 
 public class CommandManager {
 
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 500;
+
     private final CommandFramework framework;
     private final List<BaseCommand> registeredCommands;
+    private final CommandDispatcher dispatcher;
 
     public CommandManager() {
         this.framework = new CommandFramework();
         this.registeredCommands = new ArrayList<>();
+        this.dispatcher = new CommandDispatcher(this::execute);
 
         if (!CommandAPI.getInstance().isInitialized()) {
             CommandAPI.getInstance().initialize(this.framework);
@@ -26,6 +30,27 @@ public class CommandManager {
     public void execute(String input) {
         framework.executeCommand(input);
     }
+
+    /**
+     * Queues input for execution on the dispatcher thread and returns immediately.
+     */
+    public boolean submit(String input) {
+        return dispatcher.submit(input);
+    }
+
+    /**
+     * Stops accepting input, waits briefly for the dispatcher to run what is
+     * already queued, and shuts the framework down.
+     */
+    public void shutdown() {
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS);
+        framework.shutdown();
+    }
+
+    public CommandDispatcher getDispatcher() {
+        return dispatcher;
+    }
     public CommandFramework getFramework() {
         return framework;
     }
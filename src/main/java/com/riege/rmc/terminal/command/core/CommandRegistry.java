@@ -4,10 +4,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 
 /**
  * Registry for managing registered commands.
@@ -16,6 +17,14 @@ import java.util.concurrent.ConcurrentHashMap;
  * to their corresponding {@link CommandInfo} objects. It provides efficient
  * lookup and management capabilities for the command framework.
  * </p>
+ * <p>
+ * Commands and aliases are published together as one immutable snapshot,
+ * replaced copy-on-write under a lock. Lookups read a single volatile field
+ * and never see a command without its aliases, or a batch registered with
+ * {@link #registerAll(Collection)} only in part. Every write copies the
+ * registry once, so bulk changes should go through {@link #registerAll} and
+ * {@link #unregisterAll} rather than a loop of single calls.
+ * </p>
  *
  * @author riege
  * @version 1.0
@@ -23,21 +32,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public class CommandRegistry {
 
     /**
-     * Map of command names to CommandInfo objects.
-     */
-    private final Map<String, CommandInfo> commands;
-
-    /**
-     * Map of aliases to command names.
+     * The current commands and aliases.
      */
-    private final Map<String, String> aliases;
+    private volatile Snapshot snapshot;
 
     /**
      * Constructs a new CommandRegistry.
      */
     public CommandRegistry() {
-        this.commands = new ConcurrentHashMap<>();
-        this.aliases = new ConcurrentHashMap<>();
+        this.snapshot = Snapshot.EMPTY;
     }
 
     /**
@@ -55,17 +58,46 @@ public class CommandRegistry {
         if (commandInfo == null) {
             throw new IllegalArgumentException("CommandInfo cannot be null");
         }
+        registerAll(List.of(commandInfo));
+    }
 
-        final String name = commandInfo.getName().toLowerCase();
+    /**
+     * Registers several commands at once.
+     * <p>
+     * Either all of the commands become visible to lookups or none does.
+     * </p>
+     *
+     * @param commandInfos the commands to register
+     * @throws IllegalArgumentException if the collection or one of its elements is null
+     */
+    public synchronized void registerAll(final Collection<CommandInfo> commandInfos) {
+        if (commandInfos == null) {
+            throw new IllegalArgumentException("CommandInfo cannot be null");
+        }
+        if (commandInfos.isEmpty()) {
+            return;
+        }
 
-        // Register the main command
-        commands.put(name, commandInfo);
+        final Snapshot current = snapshot;
+        final Map<String, CommandInfo> commands = new HashMap<>(current.commands());
+        final Map<String, String> aliases = new HashMap<>(current.aliases());
 
-        // Register all aliases
-        for (final String alias : commandInfo.getAliases()) {
-            final String lowerAlias = alias.toLowerCase();
-            aliases.put(lowerAlias, name);
+        for (final CommandInfo commandInfo : commandInfos) {
+            if (commandInfo == null) {
+                throw new IllegalArgumentException("CommandInfo cannot be null");
+            }
+            final String name = commandInfo.getName().toLowerCase();
+
+            // Register the main command
+            commands.put(name, commandInfo);
+
+            // Register all aliases
+            for (final String alias : commandInfo.getAliases()) {
+                aliases.put(alias.toLowerCase(), name);
+            }
         }
+
+        snapshot = Snapshot.of(commands, aliases);
     }
 
     /**
@@ -81,17 +113,43 @@ public class CommandRegistry {
         if (name == null) {
             return false;
         }
+        return unregisterAll(List.of(name)) > 0;
+    }
 
-        final String lowerName = name.toLowerCase();
-        final CommandInfo removed = commands.remove(lowerName);
+    /**
+     * Unregisters several commands at once, with their aliases.
+     * <p>
+     * Either all of the commands disappear from lookups or none does.
+     * </p>
+     *
+     * @param names the command names to unregister; null elements are ignored
+     * @return the number of commands removed
+     * @throws IllegalArgumentException if the collection is null
+     */
+    public synchronized int unregisterAll(final Collection<String> names) {
+        if (names == null) {
+            throw new IllegalArgumentException("Names cannot be null");
+        }
 
-        if (removed != null) {
-            // Remove all aliases pointing to this command
-            aliases.entrySet().removeIf(entry -> entry.getValue().equals(lowerName));
-            return true;
+        final Snapshot current = snapshot;
+        final Set<String> removed = new HashSet<>();
+        for (final String name : names) {
+            if (name != null && current.commands().containsKey(name.toLowerCase())) {
+                removed.add(name.toLowerCase());
+            }
         }
+        if (removed.isEmpty()) {
+            return 0;
+        }
+
+        final Map<String, CommandInfo> commands = new HashMap<>(current.commands());
+        final Map<String, String> aliases = new HashMap<>(current.aliases());
+        commands.keySet().removeAll(removed);
+        // Remove all aliases pointing to the removed commands
+        aliases.values().removeIf(removed::contains);
 
-        return false;
+        snapshot = Snapshot.of(commands, aliases);
+        return removed.size();
     }
 
     /**
@@ -106,17 +164,18 @@ public class CommandRegistry {
         }
 
         final String lowerName = name.toLowerCase();
+        final Snapshot current = snapshot;
 
         // Check direct command name first
-        CommandInfo commandInfo = commands.get(lowerName);
+        CommandInfo commandInfo = current.commands().get(lowerName);
         if (commandInfo != null) {
             return Optional.of(commandInfo);
         }
 
         // Check aliases
-        final String aliasTarget = aliases.get(lowerName);
+        final String aliasTarget = current.aliases().get(lowerName);
         if (aliasTarget != null) {
-            commandInfo = commands.get(aliasTarget);
+            commandInfo = current.commands().get(aliasTarget);
             return Optional.ofNullable(commandInfo);
         }
 
@@ -139,7 +198,7 @@ public class CommandRegistry {
      * @return unmodifiable collection of CommandInfo objects
      */
     public Collection<CommandInfo> getAllCommands() {
-        return Collections.unmodifiableCollection(commands.values());
+        return snapshot.commands().values();
     }
 
     /**
@@ -148,7 +207,7 @@ public class CommandRegistry {
      * @return unmodifiable collection of command names
      */
     public Collection<String> getCommandNames() {
-        return Collections.unmodifiableSet(commands.keySet());
+        return snapshot.commands().keySet();
     }
 
     /**
@@ -157,7 +216,7 @@ public class CommandRegistry {
      * @return unmodifiable map of aliases to command names
      */
     public Map<String, String> getAliases() {
-        return Collections.unmodifiableMap(aliases);
+        return snapshot.aliases();
     }
 
     /**
@@ -166,7 +225,7 @@ public class CommandRegistry {
      * @return list of commands sorted by priority (highest first)
      */
     public List<CommandInfo> getCommandsByPriority() {
-        final List<CommandInfo> sorted = new ArrayList<>(commands.values());
+        final List<CommandInfo> sorted = new ArrayList<>(snapshot.commands().values());
         sorted.sort((c1, c2) -> Integer.compare(c2.getPriority(), c1.getPriority()));
         return sorted;
     }
@@ -181,22 +240,23 @@ public class CommandRegistry {
      * @return list of matching command names
      */
     public List<String> findMatchingCommands(final String partial) {
+        final Snapshot current = snapshot;
         if (partial == null || partial.isEmpty()) {
-            return new ArrayList<>(commands.keySet());
+            return new ArrayList<>(current.commands().keySet());
         }
 
         final String lowerPartial = partial.toLowerCase();
         final List<String> matches = new ArrayList<>();
 
         // Check command names
-        for (final String name : commands.keySet()) {
+        for (final String name : current.commands().keySet()) {
             if (name.startsWith(lowerPartial)) {
                 matches.add(name);
             }
         }
 
         // Check aliases
-        for (final Map.Entry<String, String> entry : aliases.entrySet()) {
+        for (final Map.Entry<String, String> entry : current.aliases().entrySet()) {
             if (entry.getKey().startsWith(lowerPartial)) {
                 matches.add(entry.getKey());
             }
@@ -212,7 +272,7 @@ public class CommandRegistry {
      * @return the command count
      */
     public int size() {
-        return commands.size();
+        return snapshot.commands().size();
     }
 
     /**
@@ -221,15 +281,14 @@ public class CommandRegistry {
      * @return true if no commands are registered
      */
     public boolean isEmpty() {
-        return commands.isEmpty();
+        return snapshot.commands().isEmpty();
     }
 
     /**
      * Clears all registered commands.
      */
-    public void clear() {
-        commands.clear();
-        aliases.clear();
+    public synchronized void clear() {
+        snapshot = Snapshot.EMPTY;
     }
 
     /**
@@ -238,10 +297,11 @@ public class CommandRegistry {
      * @return a map containing registry statistics
      */
     public Map<String, Object> getStatistics() {
+        final Snapshot current = snapshot;
         final Map<String, Object> stats = new HashMap<>();
-        stats.put("commands", commands.size());
-        stats.put("aliases", aliases.size());
-        stats.put("total_handlers", commands.values().stream()
+        stats.put("commands", current.commands().size());
+        stats.put("aliases", current.aliases().size());
+        stats.put("total_handlers", current.commands().values().stream()
                 .mapToInt(cmd -> cmd.getHandlers().size())
                 .sum());
         return stats;
@@ -249,9 +309,25 @@ public class CommandRegistry {
 
     @Override
     public String toString() {
+        final Snapshot current = snapshot;
         return "CommandRegistry{" +
-                "commands=" + commands.size() +
-                ", aliases=" + aliases.size() +
+                "commands=" + current.commands().size() +
+                ", aliases=" + current.aliases().size() +
                 '}';
     }
+
+    /**
+     * An immutable, consistent view of the commands and their aliases.
+     */
+    private record Snapshot(Map<String, CommandInfo> commands, Map<String, String> aliases) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+
+        /**
+         * Wraps freshly built maps, which must not be modified afterwards.
+         */
+        static Snapshot of(final Map<String, CommandInfo> commands, final Map<String, String> aliases) {
+            return new Snapshot(Collections.unmodifiableMap(commands), Collections.unmodifiableMap(aliases));
+        }
+    }
 }
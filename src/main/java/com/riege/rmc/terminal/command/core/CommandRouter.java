@@ -4,6 +4,8 @@ import com.riege.rmc.terminal.command.annotations.Command;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Router system for organizing commands into logical groups/modules.
@@ -30,6 +32,7 @@ public class CommandRouter {
     private final Map<String, Object> commands;
     private final List<CommandMiddleware> middlewares;
     private final Map<String, String> metadata;
+    private final AtomicInteger revision;
 
     /**
      * Creates a new command router.
@@ -54,8 +57,9 @@ public class CommandRouter {
         this.name = name;
         this.prefix = prefix;
         this.commands = new ConcurrentHashMap<>();
-        this.middlewares = new ArrayList<>();
+        this.middlewares = new CopyOnWriteArrayList<>();
         this.metadata = new ConcurrentHashMap<>();
+        this.revision = new AtomicInteger();
     }
 
     /**
@@ -77,7 +81,9 @@ public class CommandRouter {
      * Adds middleware to this router.
      * <p>
      * All commands in this router will execute through this middleware.
-     * Middlewares are executed in the order they are added.
+     * Middlewares are executed in the order they are added. They may also be
+     * added after the router is registered; the framework recompiles the
+     * router's chain before its next command.
      * </p>
      *
      * @param middleware the middleware to add
@@ -88,6 +94,7 @@ public class CommandRouter {
             throw new IllegalArgumentException("Middleware cannot be null");
         }
         middlewares.add(middleware);
+        revision.incrementAndGet();
         return this;
     }
 
@@ -156,6 +163,14 @@ public class CommandRouter {
         return Collections.unmodifiableList(middlewares);
     }
 
+    /**
+     * Returns a counter that changes whenever a middleware is added, so
+     * compiled chains can tell they are stale.
+     */
+    int getRevision() {
+        return revision.get();
+    }
+
     /**
      * Gets router metadata.
      *
@@ -0,0 +1,278 @@
+package com.riege.rmc.terminal.command.core;
+
+import com.riege.rmc.terminal.command.annotations.Argument;
+import com.riege.rmc.terminal.command.annotations.Flag;
+import com.riege.rmc.terminal.command.annotations.Option;
+import com.riege.rmc.terminal.command.annotations.SkipWarmup;
+import com.riege.rmc.terminal.command.bridge.HeadlessTerminalBackend;
+import com.riege.rmc.terminal.command.bridge.TerminalBackend;
+import com.riege.rmc.terminal.logging.AsyncLogSink;
+import com.riege.rmc.terminal.logging.Logger;
+import com.riege.rmc.terminal.logging.MessageLogger;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays a synthetic command corpus so the hot paths are compiled before the
+ * first real input.
+ * <p>
+ * The corpus holds one input per handler of every registered command and
+ * subcommand, with sample arguments derived from {@link Argument},
+ * {@link Option} and {@link Flag} metadata. Each round executes the whole
+ * corpus through the tokenizer, the middleware pipeline and the handlers,
+ * then completes every command name prefix. Commands and handlers annotated
+ * with {@link SkipWarmup} are left out, and so are async handlers, which
+ * would still be running when the warm-up ends.
+ * </p>
+ * <p>
+ * While the warm-up runs, logging goes to a temporary logger with an async
+ * sink writing to a {@link HeadlessTerminalBackend}, so nothing reaches the
+ * terminal or the message history. Failures raised by sample inputs are
+ * counted in the result and then cleared from the {@link FailureTracker}, so
+ * the warm-up must run at boot, before any user input. It must not run while
+ * another thread logs.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * CommandWarmup.Result result = new CommandWarmup(framework)
+ *         .rounds(1000)
+ *         .maxDuration(Duration.ofSeconds(2))
+ *         .run();
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class CommandWarmup {
+
+    public static final int DEFAULT_ROUNDS = 1000;
+
+    private static final String SENDER = "warmup";
+    private static final String SAMPLE_TEXT = "sample";
+
+    private final CommandFramework framework;
+    private int rounds = DEFAULT_ROUNDS;
+    private Duration maxDuration = Duration.ofSeconds(2);
+
+    public CommandWarmup(final CommandFramework framework) {
+        if (framework == null) {
+            throw new IllegalArgumentException("Framework cannot be null");
+        }
+        this.framework = framework;
+    }
+
+    /**
+     * Sets how many times the corpus is replayed.
+     *
+     * @param rounds the number of rounds
+     * @return this warm-up for chaining
+     */
+    public CommandWarmup rounds(final int rounds) {
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Rounds must be at least 1");
+        }
+        this.rounds = rounds;
+        return this;
+    }
+
+    /**
+     * Bounds the warm-up time; the current round completes before stopping.
+     *
+     * @param maxDuration the time budget
+     * @return this warm-up for chaining
+     */
+    public CommandWarmup maxDuration(final Duration maxDuration) {
+        if (maxDuration == null || maxDuration.isNegative() || maxDuration.isZero()) {
+            throw new IllegalArgumentException("Max duration must be positive");
+        }
+        this.maxDuration = maxDuration;
+        return this;
+    }
+
+    /**
+     * Generates the corpus for the currently registered commands.
+     *
+     * @return the raw inputs, one per warmable handler
+     */
+    public List<String> corpus() {
+        final List<String> corpus = new ArrayList<>();
+        for (final CommandInfo command : framework.getRegistry().getAllCommands()) {
+            if (skipped(command.getLazyInstance().getType())) {
+                continue;
+            }
+            for (final CommandInfo.HandlerInfo handler : command.getHandlers()) {
+                if (!handler.isAsync() && !handler.getMethod().isAnnotationPresent(SkipWarmup.class)) {
+                    final String prefix = handler.getSubcommand().isEmpty()
+                            ? command.getName() : command.getName() + " " + handler.getSubcommand();
+                    corpus.add(input(prefix, handler.getMethod(), command.getCommand().minArgs()));
+                }
+            }
+            for (final SubCommandInfo subCommand : command.getSubCommands().values()) {
+                if (subCommand.getHandler() != null && !subCommand.isAsync()
+                        && !subCommand.getHandler().isAnnotationPresent(SkipWarmup.class)
+                        && !skipped(subCommand.getLazyInstance().getType())) {
+                    corpus.add(input(subCommand.getPathString(), subCommand.getHandler(), 0));
+                }
+            }
+        }
+        return corpus;
+    }
+
+    /**
+     * Runs the warm-up.
+     *
+     * @return what was executed and how long it took
+     * @throws IllegalStateException if the logger is not initialized
+     */
+    public Result run() {
+        final MessageLogger previousLogger = Logger.getInstance();
+        if (previousLogger == null) {
+            throw new IllegalStateException("Logger must be initialized before the warm-up");
+        }
+        final List<String> corpus = corpus();
+        final List<String> prefixes = completionPrefixes();
+        final HeadlessTerminalBackend headless = new HeadlessTerminalBackend(0);
+        headless.onInput(input -> framework.executeCommand(input, SENDER));
+        headless.onTab(buffer -> {
+            for (final String match : framework.getRegistry().findMatchingCommands(buffer)) {
+                headless.addCandidate(match);
+            }
+        });
+
+        final TerminalBackend previousTerminal = MessageLogger.getTerminal();
+        final MessageLogger warmupLogger = new MessageLogger(1024);
+        warmupLogger.setMinimumLevel(previousLogger.getMinimumLevel());
+        final long failuresBefore = totalFailures();
+
+        final long start = System.nanoTime();
+        final long deadline = start + maxDuration.toNanos();
+        long executions = 0;
+        int completedRounds = 0;
+        MessageLogger.setTerminal(headless);
+        Logger.setLogger(warmupLogger);
+        warmupLogger.enableAsyncOutput(4096, 256, 0, AsyncLogSink.OverflowPolicy.DROP_OLDEST);
+        try {
+            while (completedRounds < rounds && System.nanoTime() < deadline) {
+                for (final String input : corpus) {
+                    headless.submit(input);
+                    executions++;
+                }
+                for (final String prefix : prefixes) {
+                    headless.complete(prefix);
+                }
+                completedRounds++;
+            }
+        } finally {
+            warmupLogger.disableAsyncOutput();
+            Logger.setLogger(previousLogger);
+            MessageLogger.setTerminal(previousTerminal);
+        }
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        final long failures = totalFailures() - failuresBefore;
+        framework.getFailureTracker().clear();
+        return new Result(corpus.size(), completedRounds, executions, failures, elapsed);
+    }
+
+    private List<String> completionPrefixes() {
+        final List<String> prefixes = new ArrayList<>();
+        prefixes.add("");
+        for (final String name : framework.getRegistry().getCommandNames()) {
+            for (int length = 1; length <= name.length(); length++) {
+                prefixes.add(name.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    private long totalFailures() {
+        return ((Number) framework.getFailureTracker().getStatistics().get("failures")).longValue();
+    }
+
+    private static boolean skipped(final Class<?> type) {
+        return type.isAnnotationPresent(SkipWarmup.class);
+    }
+
+    /**
+     * Builds the input for one handler: positional samples in parameter order,
+     * then flags and options, padded to the command's minimum argument count.
+     */
+    private static String input(final String prefix, final Method method, final int minArgs) {
+        final StringBuilder input = new StringBuilder(prefix);
+        final StringBuilder named = new StringBuilder();
+        int positional = 0;
+
+        for (final Parameter parameter : method.getParameters()) {
+            final Class<?> type = parameter.getType();
+            if (type == CommandContext.class) {
+                continue;
+            }
+            final Flag flag = parameter.getAnnotation(Flag.class);
+            if (flag != null) {
+                named.append(" --").append(flag.name());
+                continue;
+            }
+            final Option option = parameter.getAnnotation(Option.class);
+            if (option != null) {
+                final String value = option.defaultValue().isEmpty() ? sample(type, null) : option.defaultValue();
+                named.append(" --").append(option.name()).append(' ').append(quote(value));
+                continue;
+            }
+            input.append(' ').append(sample(type, parameter.getAnnotation(Argument.class)));
+            positional++;
+        }
+
+        for (; positional < minArgs; positional++) {
+            input.append(' ').append(SAMPLE_TEXT);
+        }
+        return input.append(named).toString();
+    }
+
+    private static String sample(final Class<?> type, final Argument argument) {
+        if (argument != null && argument.suggestions().length > 0) {
+            return argument.suggestions()[0];
+        }
+        if (argument != null && !argument.defaultValue().isEmpty()) {
+            return argument.defaultValue();
+        }
+        if (type == int.class || type == Integer.class || type == long.class || type == Long.class) {
+            return Long.toString((long) clamp(1, argument));
+        }
+        if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+            return Double.toString(clamp(1.5, argument));
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return "true";
+        }
+        return SAMPLE_TEXT;
+    }
+
+    private static double clamp(final double value, final Argument argument) {
+        if (argument == null) {
+            return value;
+        }
+        return Math.max(argument.min(), Math.min(argument.max(), value));
+    }
+
+    private static String quote(final String value) {
+        return value.indexOf(' ') >= 0 ? '"' + value + '"' : value;
+    }
+
+    /**
+     * Outcome of a warm-up run.
+     *
+     * @param corpusSize the number of distinct inputs
+     * @param rounds     the number of completed rounds
+     * @param executions the number of executed inputs
+     * @param failures   the number of handler failures raised by sample inputs
+     * @param elapsed    the wall-clock duration
+     */
+    public record Result(int corpusSize, int rounds, long executions, long failures, Duration elapsed) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.riege.rmc.terminal.command.core;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates command handler failures by fingerprint.
+ * <p>
+ * A fingerprint is the exception type plus the top stack frames of the root
+ * cause, so the same bug hit from a loop counts as one entry instead of
+ * flooding the log. Each fingerprint keeps its total count, a sliding
+ * per-window rate and one sample stack trace. The sample is rendered only for
+ * the first occurrence of a fingerprint in each window; later occurrences
+ * only bump counters.
+ * </p>
+ * <p>
+ * The map is bounded: when it is full, the least recently seen fingerprint
+ * is evicted.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class FailureTracker {
+
+    private static final int FINGERPRINT_FRAMES = 3;
+
+    private final int maxFingerprints;
+    private final long windowNanos;
+    private final Map<String, Entry> entries;
+
+    /**
+     * Creates a tracker.
+     *
+     * @param maxFingerprints the maximum number of distinct fingerprints kept
+     * @param window          the rate window; a new sample trace is captured once per window
+     */
+    public FailureTracker(final int maxFingerprints, final Duration window) {
+        if (maxFingerprints < 1) {
+            throw new IllegalArgumentException("Max fingerprints must be at least 1");
+        }
+        if (window == null || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.maxFingerprints = maxFingerprints;
+        this.windowNanos = window.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > FailureTracker.this.maxFingerprints;
+            }
+        };
+    }
+
+    /**
+     * Records a handler failure.
+     *
+     * @param command the command whose handler failed
+     * @param failure the exception thrown by the handler
+     * @return the failure's fingerprint, after counting this occurrence
+     */
+    public synchronized Fingerprint record(final String command, final Throwable failure) {
+        final Throwable root = rootCause(failure);
+        final String key = fingerprintOf(root);
+        final long now = System.nanoTime();
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(Integer.toHexString(key.hashCode()), root.getClass().getName(), now);
+            entries.put(key, entry);
+        }
+
+        entry.roll(now, windowNanos);
+        final boolean firstInWindow = entry.windowCount == 0;
+        if (firstInWindow) {
+            entry.sampleTrace = render(failure);
+            entry.sampleMessage = root.getMessage();
+        }
+        entry.windowCount++;
+        entry.total++;
+        entry.lastCommand = command;
+        entry.lastSeen = Instant.now();
+        return entry.snapshot(now, windowNanos, firstInWindow);
+    }
+
+    /**
+     * Returns the fingerprints with the highest current rate.
+     *
+     * @param limit the maximum number of fingerprints
+     * @return the fingerprints, highest rate first
+     */
+    public synchronized List<Fingerprint> top(final int limit) {
+        final long now = System.nanoTime();
+        final List<Fingerprint> result = new ArrayList<>(entries.size());
+        for (final Entry entry : entries.values()) {
+            entry.roll(now, windowNanos);
+            result.add(entry.snapshot(now, windowNanos, false));
+        }
+        result.sort(Comparator.comparingDouble(Fingerprint::ratePerWindow).reversed()
+                .thenComparing(Comparator.comparingLong(Fingerprint::total).reversed()));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Finds a fingerprint by its identifier.
+     *
+     * @param id the identifier shown in logs and listings
+     * @return the fingerprint, or {@code null} if unknown
+     */
+    public synchronized Fingerprint find(final String id) {
+        final long now = System.nanoTime();
+        for (final Entry entry : entries.values()) {
+            if (entry.id.equals(id)) {
+                return entry.snapshot(now, windowNanos, false);
+            }
+        }
+        return null;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        long total = 0;
+        for (final Entry entry : entries.values()) {
+            total += entry.total;
+        }
+        final Map<String, Object> stats = new HashMap<>();
+        stats.put("fingerprints", entries.size());
+        stats.put("max_fingerprints", maxFingerprints);
+        stats.put("failures", total);
+        return stats;
+    }
+
+    private static Throwable rootCause(final Throwable failure) {
+        Throwable root = failure;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root;
+    }
+
+    private static String fingerprintOf(final Throwable root) {
+        final StringBuilder key = new StringBuilder(root.getClass().getName());
+        final StackTraceElement[] frames = root.getStackTrace();
+        for (int i = 0; i < Math.min(FINGERPRINT_FRAMES, frames.length); i++) {
+            key.append('|').append(frames[i].getClassName())
+                    .append('.').append(frames[i].getMethodName())
+                    .append(':').append(frames[i].getLineNumber());
+        }
+        return key.toString();
+    }
+
+    private static String render(final Throwable failure) {
+        final StringWriter out = new StringWriter();
+        failure.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+
+    /**
+     * Snapshot of one fingerprint.
+     *
+     * @param id            short identifier, stable for the lifetime of the process
+     * @param exceptionType fully qualified type of the root cause
+     * @param message       the root cause message of the sample
+     * @param lastCommand   the command that failed most recently
+     * @param total         the total number of occurrences
+     * @param ratePerWindow the estimated number of occurrences per window
+     * @param lastSeen      the time of the most recent occurrence
+     * @param sampleTrace   the sample stack trace
+     * @param firstInWindow whether this occurrence was the first of its window
+     */
+    public record Fingerprint(String id, String exceptionType, String message, String lastCommand,
+                              long total, double ratePerWindow, Instant lastSeen, String sampleTrace,
+                              boolean firstInWindow) {
+    }
+
+    private static final class Entry {
+        private final String id;
+        private final String exceptionType;
+        private long windowStart;
+        private long windowCount;
+        private long previousWindowCount;
+        private long total;
+        private String lastCommand;
+        private Instant lastSeen;
+        private String sampleTrace;
+        private String sampleMessage;
+
+        Entry(final String id, final String exceptionType, final long now) {
+            this.id = id;
+            this.exceptionType = exceptionType;
+            this.windowStart = now;
+        }
+
+        void roll(final long now, final long windowNanos) {
+            final long elapsedWindows = (now - windowStart) / windowNanos;
+            if (elapsedWindows >= 1) {
+                previousWindowCount = elapsedWindows == 1 ? windowCount : 0;
+                windowCount = 0;
+                windowStart += elapsedWindows * windowNanos;
+            }
+        }
+
+        /**
+         * Estimates the rate over the last full window length by weighting the
+         * previous window by the part of it that still overlaps.
+         */
+        double rate(final long now, final long windowNanos) {
+            final double progress = Math.min(1.0, (double) (now - windowStart) / windowNanos);
+            return windowCount + previousWindowCount * (1.0 - progress);
+        }
+
+        Fingerprint snapshot(final long now, final long windowNanos, final boolean firstInWindow) {
+            return new Fingerprint(id, exceptionType, sampleMessage, lastCommand, total,
+                    rate(now, windowNanos), lastSeen, sampleTrace, firstInWindow);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.riege.rmc.terminal.command.core;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+
+/**
+ * A command or subcommand instance that is created on first use.
+ * <p>
+ * Registration only records the class and the constructor to call, so
+ * scanning a large router costs metadata reads only. The instance is created
+ * by the first thread that needs it, exactly once; concurrent callers wait for
+ * that thread and then share the instance. A failed creation is not cached
+ * and is retried on the next call.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class LazyInstance {
+
+    private final Class<?> type;
+    private final Constructor<?> constructor;
+    private final LazyInstance outer;
+
+    private volatile Object instance;
+
+    private LazyInstance(final Class<?> type, final Constructor<?> constructor, final LazyInstance outer,
+                         final Object instance) {
+        this.type = type;
+        this.constructor = constructor;
+        this.outer = outer;
+        this.instance = instance;
+    }
+
+    /**
+     * Wraps an instance that already exists.
+     *
+     * @param instance the instance
+     * @return an initialized holder
+     */
+    public static LazyInstance of(final Object instance) {
+        Objects.requireNonNull(instance, "Instance cannot be null");
+        return new LazyInstance(instance.getClass(), null, null, instance);
+    }
+
+    /**
+     * Describes a top-level or static nested class created with its no-arg constructor.
+     *
+     * @param type the class
+     * @return an uninitialized holder
+     * @throws IllegalArgumentException if the class has no no-arg constructor
+     */
+    public static LazyInstance ofClass(final Class<?> type) {
+        return new LazyInstance(type, constructor(type), null, null);
+    }
+
+    /**
+     * Describes an inner class created with the instance of its enclosing class.
+     *
+     * @param type  the inner class
+     * @param outer the enclosing instance, created first if needed
+     * @return an uninitialized holder
+     * @throws IllegalArgumentException if the class has no constructor taking the enclosing class
+     */
+    public static LazyInstance ofInnerClass(final Class<?> type, final LazyInstance outer) {
+        Objects.requireNonNull(outer, "Outer instance cannot be null");
+        return new LazyInstance(type, constructor(type, type.getDeclaringClass()), outer, null);
+    }
+
+    /**
+     * Returns the instance, creating it on the first call.
+     *
+     * @return the instance
+     * @throws IllegalStateException if the constructor fails
+     */
+    public Object get() {
+        Object current = instance;
+        if (current == null) {
+            synchronized (this) {
+                current = instance;
+                if (current == null) {
+                    current = create();
+                    instance = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public boolean isInitialized() {
+        return instance != null;
+    }
+
+    private Object create() {
+        try {
+            return outer == null ? constructor.newInstance() : constructor.newInstance(outer.get());
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Failed to instantiate " + type.getName() + ": " + e.getCause(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to instantiate " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Constructor<?> constructor(final Class<?> type, final Class<?>... parameterTypes) {
+        try {
+            return type.getDeclaredConstructor(parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("No suitable constructor in " + type.getName());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LazyInstance{" +
+                "type=" + type.getName() +
+                ", initialized=" + isInitialized() +
+                '}';
+    }
+}
@@ -9,6 +9,9 @@ import java.util.*;
 
 /**
  * Scans and processes @Router annotations to automatically register commands.
+ * <p>
+ * The scanner is stateless, so several routers can be scanned concurrently.
+ * </p>
  *
  * @author riege
  * @version 1.0
@@ -16,12 +19,16 @@ import java.util.*;
 public class RouterScanner {
 
     /**
-     * Scans a router class and extracts all commands and subcommands.
+     * Scans a router class and describes all of its commands.
+     * <p>
+     * Only class metadata is read: the commands, and the router instance shared
+     * by its non-static inner commands, are created on first invocation.
+     * </p>
      *
      * @param routerClass the router class
-     * @return list of command instances to register
+     * @return list of lazily created command instances to register
      */
-    public List<Object> scanRouter(final Class<?> routerClass) {
+    public List<LazyInstance> scanRouter(final Class<?> routerClass) {
         final Router routerAnnotation = routerClass.getAnnotation(Router.class);
         if (routerAnnotation == null) {
             throw new IllegalArgumentException(
@@ -29,29 +36,28 @@ public class RouterScanner {
         }
 
         if (!routerAnnotation.enabled()) {
-            Logger.debug("Skipping disabled router: " + routerAnnotation.name());
+            Logger.debug("Skipping disabled router: %s", routerAnnotation.name());
             return Collections.emptyList();
         }
 
-        final List<Object> commands = new ArrayList<>();
+        final List<LazyInstance> commands = new ArrayList<>();
+        LazyInstance routerInstance = null;
 
         for (final Class<?> innerClass : routerClass.getDeclaredClasses()) {
             final Command commandAnnotation = innerClass.getAnnotation(Command.class);
             if (commandAnnotation != null && commandAnnotation.enabled()) {
                 try {
-                    Object commandInstance;
                     if (Modifier.isStatic(innerClass.getModifiers())) {
-                        commandInstance = innerClass.getDeclaredConstructor().newInstance();
+                        commands.add(LazyInstance.ofClass(innerClass));
                     } else {
-                        Object routerInstance = routerClass.getDeclaredConstructor().newInstance();
-                        commandInstance = innerClass.getDeclaredConstructor(routerClass)
-                                .newInstance(routerInstance);
+                        if (routerInstance == null) {
+                            routerInstance = LazyInstance.ofClass(routerClass);
+                        }
+                        commands.add(LazyInstance.ofInnerClass(innerClass, routerInstance));
                     }
-
-                    commands.add(commandInstance);
-                    Logger.debug("Found command in router: " + commandAnnotation.name());
-                } catch (Exception e) {
-                    Logger.warning("Failed to instantiate command " + innerClass.getName() +
+                    Logger.debug("Found command in router: %s", commandAnnotation.name());
+                } catch (IllegalArgumentException e) {
+                    Logger.warning("Cannot register command " + innerClass.getName() +
                             ": " + e.getMessage());
                 }
             }
@@ -72,6 +78,24 @@ public class RouterScanner {
             final Class<?> commandClass,
             final Object instance,
             final List<String> basePath
+    ) {
+        return scanSubCommands(commandClass, LazyInstance.of(instance), basePath);
+    }
+
+    /**
+     * Scans a command class for subcommands without creating any instance.
+     * Nested subcommand classes are created on first invocation, after their
+     * enclosing command.
+     *
+     * @param commandClass the command class
+     * @param instance     the lazily created command instance
+     * @param basePath     the base command path
+     * @return map of subcommand paths to info
+     */
+    public Map<String, SubCommandInfo> scanSubCommands(
+            final Class<?> commandClass,
+            final LazyInstance instance,
+            final List<String> basePath
     ) {
         final Map<String, SubCommandInfo> subCommands = new HashMap<>();
 
@@ -86,11 +110,12 @@ public class RouterScanner {
                         subCommandAnnotation,
                         method,
                         instance,
-                        path
+                        path,
+                        List.of()
                 );
 
                 subCommands.put(String.join(" ", path), info);
-                Logger.debug("Found subcommand: /" + info.getPathString());
+                Logger.debug(() -> "Found subcommand: /" + info.getPathString());
             }
         }
 
@@ -101,36 +126,29 @@ public class RouterScanner {
                 path.add(subCommandAnnotation.name());
 
                 try {
-                    Object subInstance;
-                    if (Modifier.isStatic(innerClass.getModifiers())) {
-                        subInstance = innerClass.getDeclaredConstructor().newInstance();
-                    } else {
-                        subInstance = innerClass.getDeclaredConstructor(commandClass)
-                                .newInstance(instance);
-                    }
+                    final LazyInstance subInstance = Modifier.isStatic(innerClass.getModifiers())
+                            ? LazyInstance.ofClass(innerClass)
+                            : LazyInstance.ofInnerClass(innerClass, instance);
+
+                    final Map<String, SubCommandInfo> nestedSubs =
+                            scanSubCommands(innerClass, subInstance, path);
 
                     final SubCommandInfo info = new SubCommandInfo(
                             subCommandAnnotation.name(),
                             subCommandAnnotation,
                             null,
                             subInstance,
-                            path
+                            path,
+                            nestedSubs.values()
                     );
 
-                    final Map<String, SubCommandInfo> nestedSubs =
-                            scanSubCommands(innerClass, subInstance, path);
-
-                    for (final SubCommandInfo nested : nestedSubs.values()) {
-                        info.addSubCommand(nested);
-                    }
-
                     subCommands.put(String.join(" ", path), info);
                     subCommands.putAll(nestedSubs);
 
-                    Logger.debug("Found nested subcommand: /" + info.getPathString() +
+                    Logger.debug(() -> "Found nested subcommand: /" + info.getPathString() +
                             " with " + info.getSubCommands().size() + " child(ren)");
-                } catch (Exception e) {
-                    Logger.warning("Failed to instantiate subcommand " + innerClass.getName() +
+                } catch (IllegalArgumentException e) {
+                    Logger.warning("Cannot register subcommand " + innerClass.getName() +
                             ": " + e.getMessage());
                 }
             }
@@ -0,0 +1,286 @@
+package com.riege.rmc.terminal.command.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each startup phase takes, with nanosecond precision.
+ * <p>
+ * Phase names are dot-separated, such as {@code terminal.load} or
+ * {@code command.help}. Budgets are looked up by the full name first, then by
+ * each shorter prefix ({@code command}), then by the default budget, so one
+ * budget can cover a whole family of phases. Budgets are evaluated when the
+ * report is built, and may therefore be configured at any time.
+ * </p>
+ * <p>
+ * Phases may be recorded from several threads, for example while routers are
+ * scanned in parallel; they are reported in the order they started.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * StartupProfiler profiler = new StartupProfiler().budgets("*=250,terminal.load=500");
+ * profiler.time("logger.init", Logger::initialize);
+ * try (StartupProfiler.Phase phase = profiler.begin("command.help")) {
+ *     manager.register(new HelpCommand(framework));
+ * }
+ * profiler.complete();
+ * for (StartupProfiler.PhaseTiming slow : profiler.report().overBudget()) {
+ *     Logger.warning(slow.name() + " took " + slow.duration().toMillis() + " ms");
+ * }
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class StartupProfiler {
+
+    /**
+     * Budget key applying to every phase without a more specific budget.
+     */
+    public static final String DEFAULT_BUDGET_KEY = "*";
+
+    private final long origin;
+    private final List<Recorded> phases;
+    private final Map<String, Long> budgets;
+    private long completedAt;
+
+    /**
+     * Creates a profiler whose clock starts now.
+     */
+    public StartupProfiler() {
+        this.origin = System.nanoTime();
+        this.phases = new ArrayList<>();
+        this.budgets = new HashMap<>();
+        this.completedAt = -1;
+    }
+
+    /**
+     * Sets the budget of a phase or of a family of phases.
+     *
+     * @param name   the phase name, a prefix of it, or {@link #DEFAULT_BUDGET_KEY}
+     * @param budget the maximum expected duration
+     * @return this profiler for chaining
+     */
+    public synchronized StartupProfiler budget(final String name, final Duration budget) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Phase name cannot be empty");
+        }
+        if (budget == null || budget.isNegative()) {
+            throw new IllegalArgumentException("Budget cannot be negative");
+        }
+        budgets.put(name, budget.toNanos());
+        return this;
+    }
+
+    /**
+     * Sets budgets from a comma-separated list of {@code name=milliseconds} pairs,
+     * for example {@code *=250,terminal=500,command=20}.
+     *
+     * @param spec the budget list
+     * @return this profiler for chaining
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public StartupProfiler budgets(final String spec) {
+        if (spec == null || spec.isBlank()) {
+            return this;
+        }
+        for (final String entry : spec.split(",")) {
+            final int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid budget entry: " + entry.trim());
+            }
+            final String millis = entry.substring(separator + 1).trim();
+            try {
+                budget(entry.substring(0, separator).trim(), Duration.ofMillis(Long.parseLong(millis)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid budget for " + entry.substring(0, separator).trim()
+                        + ": " + millis);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Starts timing a phase; closing the returned handle records it.
+     *
+     * @param name the phase name
+     * @return the running phase
+     */
+    public Phase begin(final String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Phase name cannot be empty");
+        }
+        return new Phase(name, System.nanoTime());
+    }
+
+    /**
+     * Times a phase; the phase is recorded even if the action throws.
+     *
+     * @param name   the phase name
+     * @param action the phase body
+     */
+    public void time(final String name, final Runnable action) {
+        try (Phase ignored = begin(name)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Times a phase that produces a value.
+     *
+     * @param name   the phase name
+     * @param action the phase body
+     * @param <T>    the result type
+     * @return the value returned by the action
+     */
+    public <T> T measure(final String name, final Supplier<T> action) {
+        try (Phase ignored = begin(name)) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Marks the end of startup; the total duration is frozen at this point.
+     */
+    public synchronized void complete() {
+        if (completedAt < 0) {
+            completedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized boolean isComplete() {
+        return completedAt >= 0;
+    }
+
+    /**
+     * Builds the report of the phases recorded so far.
+     *
+     * @return the phases in start order, with their budgets
+     */
+    public synchronized Report report() {
+        final List<PhaseTiming> timings = new ArrayList<>(phases.size());
+        for (final Recorded phase : phases) {
+            timings.add(new PhaseTiming(phase.name, phase.start - origin, phase.end - phase.start,
+                    budgetOf(phase.name)));
+        }
+        timings.sort((a, b) -> Long.compare(a.startNanos(), b.startNanos()));
+        final long end = completedAt >= 0 ? completedAt : System.nanoTime();
+        return new Report(List.copyOf(timings), end - origin, completedAt >= 0);
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        final Report report = report();
+        long measured = 0;
+        for (final PhaseTiming timing : report.phases()) {
+            measured += timing.durationNanos();
+        }
+        final Map<String, Object> stats = new HashMap<>();
+        stats.put("phases", report.phases().size());
+        stats.put("over_budget", report.overBudget().size());
+        stats.put("measured_nanos", measured);
+        stats.put("total_nanos", report.totalNanos());
+        stats.put("complete", report.complete());
+        return stats;
+    }
+
+    private synchronized void record(final String name, final long start, final long end) {
+        phases.add(new Recorded(name, start, end));
+    }
+
+    private long budgetOf(final String name) {
+        String key = name;
+        while (true) {
+            final Long budget = budgets.get(key);
+            if (budget != null) {
+                return budget;
+            }
+            final int dot = key.lastIndexOf('.');
+            if (dot < 0) {
+                break;
+            }
+            key = key.substring(0, dot);
+        }
+        return budgets.getOrDefault(DEFAULT_BUDGET_KEY, -1L);
+    }
+
+    /**
+     * A running phase, recorded when closed.
+     */
+    public final class Phase implements AutoCloseable {
+        private final String name;
+        private final long start;
+        private boolean closed;
+
+        private Phase(final String name, final long start) {
+            this.name = name;
+            this.start = start;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                record(name, start, System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Timing of one phase.
+     *
+     * @param name          the phase name
+     * @param startNanos    the offset of the phase start from the profiler creation
+     * @param durationNanos the phase duration
+     * @param budgetNanos   the applicable budget, or {@code -1} if none
+     */
+    public record PhaseTiming(String name, long startNanos, long durationNanos, long budgetNanos) {
+
+        public Duration duration() {
+            return Duration.ofNanos(durationNanos);
+        }
+
+        public boolean hasBudget() {
+            return budgetNanos >= 0;
+        }
+
+        public boolean isOverBudget() {
+            return budgetNanos >= 0 && durationNanos > budgetNanos;
+        }
+    }
+
+    /**
+     * Startup report.
+     *
+     * @param phases     the recorded phases in start order
+     * @param totalNanos the time from profiler creation to {@link #complete()}, or to now if not complete
+     * @param complete   whether startup has completed
+     */
+    public record Report(List<PhaseTiming> phases, long totalNanos, boolean complete) {
+
+        public Duration total() {
+            return Duration.ofNanos(totalNanos);
+        }
+
+        /**
+         * Returns the phases that exceeded their budget, in start order.
+         */
+        public List<PhaseTiming> overBudget() {
+            final List<PhaseTiming> slow = new ArrayList<>();
+            for (final PhaseTiming timing : phases) {
+                if (timing.isOverBudget()) {
+                    slow.add(timing);
+                }
+            }
+            return slow;
+        }
+    }
+
+    private record Recorded(String name, long start, long end) {
+    }
+}
@@ -7,6 +7,9 @@ import java.util.*;
 
 /**
  * Holds information about a subcommand including nested subcommands.
+ * <p>
+ * Instances are immutable: nested subcommands are passed to the constructor.
+ * </p>
  *
  * @author riege
  * @version 1.0
@@ -16,7 +19,7 @@ public class SubCommandInfo {
     private final String name;
     private final SubCommand annotation;
     private final Method handler;
-    private final Object instance;
+    private final LazyInstance instance;
     private final Map<String, SubCommandInfo> subCommands;
     private final List<String> path; // Full path like ["player", "inventory", "clear"]
 
@@ -36,24 +39,41 @@ public class SubCommandInfo {
             final Object instance,
             final List<String> path
     ) {
-        this.name = name;
-        this.annotation = annotation;
-        this.handler = handler;
-        this.instance = instance;
-        this.subCommands = new HashMap<>();
-        this.path = new ArrayList<>(path);
+        this(name, annotation, handler, LazyInstance.of(instance), path, List.of());
     }
 
     /**
-     * Adds a nested subcommand.
+     * Creates a new SubCommandInfo whose instance is created on first use.
      *
-     * @param subCommand the subcommand to add
+     * @param name       the subcommand name
+     * @param annotation the annotation
+     * @param handler    the handler method (can be null for nested subcommands)
+     * @param instance   the lazily created instance containing the handler
+     * @param path       the full command path
+     * @param children   the nested subcommands, found by name or alias
      */
-    public void addSubCommand(final SubCommandInfo subCommand) {
-        subCommands.put(subCommand.getName().toLowerCase(), subCommand);
-        for (final String alias : subCommand.getAnnotation().aliases()) {
-            subCommands.put(alias.toLowerCase(), subCommand);
+    public SubCommandInfo(
+            final String name,
+            final SubCommand annotation,
+            final Method handler,
+            final LazyInstance instance,
+            final List<String> path,
+            final Collection<SubCommandInfo> children
+    ) {
+        this.name = name;
+        this.annotation = annotation;
+        this.handler = handler;
+        this.instance = instance;
+        this.path = List.copyOf(path);
+
+        final Map<String, SubCommandInfo> byName = new HashMap<>();
+        for (final SubCommandInfo child : children) {
+            byName.put(child.getName().toLowerCase(), child);
+            for (final String alias : child.getAnnotation().aliases()) {
+                byName.put(alias.toLowerCase(), child);
+            }
         }
+        this.subCommands = Map.copyOf(byName);
     }
 
     /**
@@ -107,22 +127,35 @@ public class SubCommandInfo {
         return handler;
     }
 
+    /**
+     * Returns the instance containing the handler, creating it on the first call.
+     *
+     * @throws IllegalStateException if the instance cannot be created
+     */
     public Object getInstance() {
+        return instance.get();
+    }
+
+    public LazyInstance getLazyInstance() {
         return instance;
     }
 
     public Map<String, SubCommandInfo> getSubCommands() {
-        return Collections.unmodifiableMap(subCommands);
+        return subCommands;
     }
 
     public List<String> getPath() {
-        return Collections.unmodifiableList(path);
+        return path;
     }
 
     public boolean isEnabled() {
         return annotation.enabled();
     }
 
+    public boolean isAsync() {
+        return annotation.async();
+    }
+
     @Override
     public String toString() {
         return "SubCommandInfo{" +
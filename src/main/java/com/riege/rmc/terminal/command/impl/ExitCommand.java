@@ -3,7 +3,9 @@ package com.riege.rmc.terminal.command.impl;
 import com.riege.rmc.terminal.command.core.BaseCommand;
 import com.riege.rmc.terminal.command.core.CommandContext;
 import com.riege.rmc.terminal.command.annotations.Command;
+import com.riege.rmc.terminal.command.annotations.SkipWarmup;
 
+@SkipWarmup
 @Command(
     name = "exit",
     description = "Arrête le terminal",
@@ -0,0 +1,72 @@
+package com.riege.rmc.terminal.command.impl;
+
+import com.riege.rmc.terminal.command.annotations.Command;
+import com.riege.rmc.terminal.command.annotations.SkipWarmup;
+import com.riege.rmc.terminal.command.annotations.SubCommand;
+import com.riege.rmc.terminal.command.core.BaseCommand;
+import com.riege.rmc.terminal.command.core.CommandContext;
+import com.riege.rmc.terminal.command.core.FailureTracker;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Command(
+    name = "failures",
+    description = "Affiche les erreurs de commandes les plus fréquentes",
+    usage = "failures [limit] | failures show <id> | failures clear"
+)
+public class FailuresCommand extends BaseCommand {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final FailureTracker tracker;
+
+    public FailuresCommand(FailureTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void execute(CommandContext ctx) {
+        List<FailureTracker.Fingerprint> top = tracker.top(ctx.getArgAsInt(0, 10));
+        if (top.isEmpty()) {
+            msg(ctx, "No command failures recorded.");
+            return;
+        }
+
+        msg(ctx, "=== Top failures (rate per " + tracker.getWindow().toMinutes() + " min) ===");
+        for (FailureTracker.Fingerprint fingerprint : top) {
+            LocalTime lastSeen = LocalTime.ofInstant(fingerprint.lastSeen(), ZoneId.systemDefault());
+            msg(ctx, String.format(" • %s  %.1f/window  %d total  last %s in '%s'",
+                    fingerprint.id(), fingerprint.ratePerWindow(), fingerprint.total(),
+                    TIME_FORMAT.format(lastSeen), fingerprint.lastCommand()));
+            msg(ctx, "     " + fingerprint.exceptionType() + ": " + fingerprint.message());
+        }
+        msg(ctx, "Type 'failures show <id>' to see a sample stack trace.");
+    }
+
+    @SubCommand(name = "show", description = "Affiche la trace d'exemple d'une erreur", usage = "failures show <id>", minArgs = 1)
+    public void show(CommandContext ctx) {
+        if (ctx.getArgCount() == 0) {
+            ctx.sendUsage();
+            return;
+        }
+        FailureTracker.Fingerprint fingerprint = tracker.find(ctx.getArg(0));
+        if (fingerprint == null) {
+            error(ctx, "Unknown failure: " + ctx.getArg(0));
+            return;
+        }
+        msg(ctx, fingerprint.total() + " occurrence(s), last in '" + fingerprint.lastCommand() + "'");
+        for (String line : fingerprint.sampleTrace().split("\\R")) {
+            msg(ctx, line);
+        }
+    }
+
+    @SkipWarmup
+    @SubCommand(name = "clear", description = "Réinitialise les statistiques d'erreurs")
+    public void clear(CommandContext ctx) {
+        tracker.clear();
+        ctx.success("Failure statistics cleared");
+    }
+}
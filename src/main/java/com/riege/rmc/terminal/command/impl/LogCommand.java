@@ -0,0 +1,110 @@
+package com.riege.rmc.terminal.command.impl;
+
+import com.riege.rmc.terminal.command.annotations.Command;
+import com.riege.rmc.terminal.command.annotations.SkipWarmup;
+import com.riege.rmc.terminal.command.annotations.SubCommand;
+import com.riege.rmc.terminal.command.core.BaseCommand;
+import com.riege.rmc.terminal.command.core.CommandContext;
+import com.riege.rmc.terminal.logging.LogQuery;
+import com.riege.rmc.terminal.logging.Logger;
+import com.riege.rmc.terminal.logging.Message;
+import com.riege.rmc.terminal.logging.MessageType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@Command(
+    name = "log",
+    description = "Recherche dans l'historique des messages",
+    usage = "log search [--type ERROR,WARNING] [--since 10m] [--until 1m] [--contains \"text\"] [--limit 50] [words...] | log level [type]"
+)
+public class LogCommand extends BaseCommand {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    @Override
+    public void execute(CommandContext ctx) {
+        ctx.sendUsage();
+    }
+
+    @SubCommand(name = "search", description = "Filtre les messages par type, période et texte")
+    public void search(CommandContext ctx) {
+        LogQuery query = new LogQuery().limit(ctx.getOptionAsInt("limit", 50));
+
+        try {
+            String types = ctx.getOption("type");
+            if (types != null) {
+                for (String type : types.split(",")) {
+                    query.type(MessageType.valueOf(type.trim().toUpperCase()));
+                }
+            }
+            if (ctx.hasOption("since")) query.since(parseTime(ctx.getOption("since")));
+            if (ctx.hasOption("until")) query.until(parseTime(ctx.getOption("until")));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            error(ctx, "Invalid search option: " + e.getMessage());
+            return;
+        }
+
+        query.contains(ctx.getOption("contains"));
+        if (ctx.getArgCount() > 0) {
+            query.tokens(ctx.getArgs());
+        }
+
+        long start = System.nanoTime();
+        List<Message> results = Logger.search(query);
+        long micros = (System.nanoTime() - start) / 1_000;
+
+        for (Message message : results) {
+            LocalTime time = LocalTime.ofInstant(message.getTimestamp(), ZoneId.systemDefault());
+            msg(ctx, TIME_FORMAT.format(time) + " [" + message.getType() + "] " + message.getContent());
+        }
+        ctx.info(results.size() + " match(es) in " + micros + "µs");
+    }
+
+    @SkipWarmup
+    @SubCommand(name = "level", description = "Affiche ou change le niveau minimal des messages", usage = "log level [DEBUG|INFO|WARNING|ERROR]")
+    public void level(CommandContext ctx) {
+        if (ctx.getArgCount() == 0) {
+            msg(ctx, "Log level: " + Logger.getLevel());
+            return;
+        }
+        MessageType level;
+        try {
+            level = MessageType.valueOf(ctx.getArg(0).trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            error(ctx, "Unknown log level: " + ctx.getArg(0));
+            return;
+        }
+        // Confirm under the less restrictive of the two levels, so raising the level is acknowledged too
+        if (level.getSeverity() >= Logger.getLevel().getSeverity()) {
+            msg(ctx, "Log level set to " + level);
+            Logger.setLevel(level);
+        } else {
+            Logger.setLevel(level);
+            msg(ctx, "Log level set to " + level);
+        }
+    }
+
+    /**
+     * Parses either a relative age such as {@code 30s}, {@code 10m}, {@code 2h}, {@code 1d}
+     * or an ISO-8601 instant.
+     */
+    private static Instant parseTime(String value) {
+        if (value.matches("\\d+[smhd]")) {
+            long amount = Long.parseLong(value.substring(0, value.length() - 1));
+            Duration age = switch (value.charAt(value.length() - 1)) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                case 'h' -> Duration.ofHours(amount);
+                default -> Duration.ofDays(amount);
+            };
+            return Instant.now().minus(age);
+        }
+        return Instant.parse(value);
+    }
+}
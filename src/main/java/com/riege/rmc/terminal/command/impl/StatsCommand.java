@@ -0,0 +1,56 @@
+package com.riege.rmc.terminal.command.impl;
+
+import com.riege.rmc.terminal.command.annotations.Command;
+import com.riege.rmc.terminal.command.annotations.SubCommand;
+import com.riege.rmc.terminal.command.core.BaseCommand;
+import com.riege.rmc.terminal.command.core.CommandContext;
+import com.riege.rmc.terminal.command.core.StartupProfiler;
+
+@Command(
+    name = "stats",
+    description = "Affiche les statistiques d'exécution",
+    usage = "stats startup [--slow]"
+)
+public class StatsCommand extends BaseCommand {
+
+    private final StartupProfiler profiler;
+
+    public StatsCommand(StartupProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void execute(CommandContext ctx) {
+        ctx.sendUsage();
+    }
+
+    @SubCommand(name = "startup", description = "Affiche la durée de chaque phase du démarrage")
+    public void startup(CommandContext ctx) {
+        StartupProfiler.Report report = profiler.report();
+        boolean slowOnly = ctx.hasFlag("slow");
+
+        msg(ctx, "=== Startup phases ===");
+        for (StartupProfiler.PhaseTiming phase : report.phases()) {
+            if (slowOnly && !phase.isOverBudget()) {
+                continue;
+            }
+            String line = String.format(" • %-24s %10.3f ms  at +%.3f ms",
+                    phase.name(), phase.durationNanos() / 1e6, phase.startNanos() / 1e6);
+            if (phase.isOverBudget()) {
+                error(ctx, line + "  over budget (" + phase.budgetNanos() / 1_000_000 + " ms)");
+            } else {
+                msg(ctx, line);
+            }
+        }
+
+        int slow = report.overBudget().size();
+        String total = String.format("%.3f ms", report.totalNanos() / 1e6);
+        if (!report.complete()) {
+            ctx.info("Startup still running, " + total + " so far");
+        } else if (slow == 0) {
+            ctx.success("Startup took " + total + ", all phases within budget");
+        } else {
+            ctx.warning("Startup took " + total + ", " + slow + " phase(s) over budget");
+        }
+    }
+}
@@ -1,9 +1,27 @@
 package com.riege.rmc.terminal.command.middleware;
 
+import com.riege.rmc.terminal.logging.LogFields;
 import com.riege.rmc.terminal.logging.Logger;
+import com.riege.rmc.terminal.logging.MessageType;
 import com.riege.rmc.terminal.command.core.CommandContext;
 import com.riege.rmc.terminal.command.core.CommandMiddleware;
 
+/**
+ * Logs each command execution.
+ * <p>
+ * The start of a command, with its arguments, is logged at DEBUG. Its
+ * completion is recorded at INFO with {@code command}, {@code sender},
+ * {@code duration_ms} and {@code success} fields, so telemetry subscribers
+ * such as {@link com.riege.rmc.terminal.logging.JsonLinesSink} receive it
+ * even when DEBUG is disabled. The record goes to the history, journal and
+ * subscribers only, not to the terminal. Duration and outcome are taken when
+ * the handler actually finishes, so async handlers are measured on their
+ * executor thread. {@code Main} installs it when {@code -Drmc.log.jsonl} is set.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
 public record LoggingMiddleware(boolean logArgs) implements CommandMiddleware {
 
     public LoggingMiddleware() {
@@ -12,21 +30,25 @@ public record LoggingMiddleware(boolean logArgs) implements CommandMiddleware {
 
     @Override
     public boolean handle(final CommandContext context, final NextHandler next) {
-        final long startTime = System.currentTimeMillis();
-
-        if (logArgs && context.getArgs().length > 0) {
-            Logger.debug("Executing command: " + context.getCommandName() +
-                    " with args: " + String.join(", ", context.getArgs()));
-        } else {
-            Logger.debug("Executing command: " + context.getCommandName());
+        final long startTime = System.nanoTime();
+
+        if (Logger.isDebugEnabled()) {
+            if (logArgs && context.getArgCount() > 0) {
+                Logger.debug("Executing command: %s with args: %s",
+                        context.getCommandName(), String.join(", ", context.getArgs()));
+            } else {
+                Logger.debug("Executing command: %s", context.getCommandName());
+            }
         }
 
-        final boolean result = next.handle();
-
-        final long duration = System.currentTimeMillis() - startTime;
-        Logger.debug("Command " + context.getCommandName() +
-                " completed in " + duration + "ms");
+        context.getCompletion().thenAccept(success -> {
+            final long duration = (System.nanoTime() - startTime) / 1_000_000;
+            Logger.record("Command " + context.getCommandName() + " completed in " + duration + "ms",
+                    MessageType.INFO,
+                    LogFields.of("command", context.getCommandName(), "sender", context.getSender(),
+                            "duration_ms", duration, "success", success));
+        });
 
-        return result;
+        return next.handle();
     }
 }
@@ -0,0 +1,276 @@
+package com.riege.rmc.terminal.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Background sink that moves terminal output off the logging threads.
+ * <p>
+ * Loggers only enqueue messages onto a bounded queue and return. A single
+ * sink thread drains the queue, coalesces consecutive messages of the same
+ * type into one multi-line write, and flushes when either the batch size or
+ * the linger interval is reached. When the queue is full, the configured
+ * {@link OverflowPolicy} decides what happens to new messages.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class AsyncLogSink implements AutoCloseable {
+
+    /**
+     * Behaviour when the sink queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The logging thread waits until space is available.
+         */
+        BLOCK,
+        /**
+         * Incoming DEBUG messages are dropped; otherwise a queued DEBUG message
+         * is evicted, falling back to the oldest message if there is none.
+         */
+        DROP_DEBUG,
+        /**
+         * The oldest queued message is evicted to make room.
+         */
+        DROP_OLDEST
+    }
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 500;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final BiConsumer<MessageType, String> writer;
+    private final BlockingQueue<Message> queue;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final OverflowPolicy policy;
+    private final Thread thread;
+    private final AtomicLong dropped;
+
+    private volatile boolean running;
+
+    /**
+     * Creates and starts a new sink.
+     *
+     * @param writer         receives each coalesced write (type and newline-joined text)
+     * @param queueCapacity  the maximum number of queued messages
+     * @param maxBatchSize   the maximum number of messages drained per flush
+     * @param lingerMillis   the maximum time a drained message waits for its batch to fill
+     * @param policy         the overflow policy
+     * @throws IllegalArgumentException if a size is less than 1 or linger is negative
+     */
+    public AsyncLogSink(final BiConsumer<MessageType, String> writer,
+                        final int queueCapacity,
+                        final int maxBatchSize,
+                        final long lingerMillis,
+                        final OverflowPolicy policy) {
+        if (writer == null || policy == null) {
+            throw new IllegalArgumentException("Writer and policy cannot be null");
+        }
+        if (queueCapacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be at least 1");
+        }
+        if (lingerMillis < 0) {
+            throw new IllegalArgumentException("Linger interval cannot be negative");
+        }
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.policy = policy;
+        this.dropped = new AtomicLong();
+        this.running = true;
+        this.thread = new Thread(this::drainLoop, "MessageLogger-Sink");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Enqueues a message for output.
+     *
+     * @param message the message
+     * @return {@code true} if the message will be written; {@code false} if it was dropped
+     *         or the sink is closed
+     */
+    public boolean enqueue(final Message message) {
+        if (!running) {
+            return false;
+        }
+        if (queue.offer(message)) {
+            return confirmQueued(message);
+        }
+
+        switch (policy) {
+            case BLOCK:
+                try {
+                    queue.put(message);
+                    return confirmQueued(message);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    return false;
+                }
+            case DROP_DEBUG:
+                if (message.getType() == MessageType.DEBUG) {
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                if (!evictDebug()) {
+                    evictOldest();
+                }
+                return offerAfterEviction(message);
+            case DROP_OLDEST:
+            default:
+                evictOldest();
+                return offerAfterEviction(message);
+        }
+    }
+
+    /**
+     * Returns the number of messages dropped by the overflow policy.
+     *
+     * @return the dropped count
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of messages waiting to be written.
+     *
+     * @return the queue depth
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops accepting messages and waits briefly for queued output to be written.
+     * Once the sink thread has exited, anything still queued is written by the
+     * calling thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!thread.isAlive()) {
+            final List<Message> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            flush(rest);
+        }
+    }
+
+    /**
+     * Checks that a queued message will still be written. If the sink was closed
+     * concurrently and the message is still queued, it is taken back so that the
+     * caller can write it synchronously.
+     */
+    private boolean confirmQueued(final Message message) {
+        return running || !queue.remove(message);
+    }
+
+    private boolean evictDebug() {
+        for (final Message queued : queue) {
+            if (queued.getType() == MessageType.DEBUG && queue.remove(queued)) {
+                dropped.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evictOldest() {
+        if (queue.poll() != null) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private boolean offerAfterEviction(final Message message) {
+        if (queue.offer(message)) {
+            return confirmQueued(message);
+        }
+        // Lost the freed slot to a concurrent producer
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    private void drainLoop() {
+        final List<Message> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                final Message first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                final long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    final long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    final Message next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Closing: write what is already drained, then empty the queue
+                queue.drainTo(batch);
+            }
+
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(final List<Message> batch) {
+        int start = 0;
+        while (start < batch.size()) {
+            final MessageType type = batch.get(start).getType();
+            final StringBuilder text = new StringBuilder(batch.get(start).getContent());
+            int end = start + 1;
+            while (end < batch.size() && batch.get(end).getType() == type) {
+                text.append('\n').append(batch.get(end).getContent());
+                end++;
+            }
+            try {
+                writer.accept(type, text.toString());
+            } catch (RuntimeException e) {
+                System.err.println("Log sink write failed: " + e.getMessage());
+            }
+            start = end;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncLogSink{" +
+                "policy=" + policy +
+                ", pending=" + queue.size() +
+                ", dropped=" + dropped.get() +
+                '}';
+    }
+}
@@ -0,0 +1,366 @@
+package com.riege.rmc.terminal.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes messages to a file as JSON Lines, one object per message:
+ * <pre>{@code
+ * {"seq":42,"ts":"2026-01-31T12:00:00.123Z","type":"INFO","msg":"Command completed","fields":{"command":"help"}}
+ * }</pre>
+ * <p>
+ * Records are encoded straight from the message into one reusable direct
+ * buffer, escaping and UTF-8 encoding character by character, so no
+ * intermediate Strings or byte arrays are created for content, strings,
+ * integral numbers, booleans or timestamps. The buffer is written through a
+ * {@link FileChannel} when it fills up and at least every flush interval.
+ * </p>
+ * <p>
+ * The sink is a {@link Flow.Subscriber}, so it is normally attached to the
+ * logger stream:
+ * <pre>{@code
+ * JsonLinesSink sink = new JsonLinesSink(Paths.get("rmc.jsonl"), 64 * 1024, 200);
+ * Logger.subscribe(sink);
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class JsonLinesSink implements Flow.Subscriber<Message>, AutoCloseable {
+
+    private static final int MIN_BUFFER_BYTES = 256;
+    /**
+     * Worst case for one encoded character: a surrogate pair, or a {@code \\u00XX} escape.
+     */
+    private static final int MAX_CHAR_BYTES = 6;
+
+    private static final byte[] SEQ = ascii("{\"seq\":");
+    private static final byte[] TS = ascii(",\"ts\":\"");
+    private static final byte[] TYPE = ascii("\",\"type\":\"");
+    private static final byte[] MSG = ascii("\",\"msg\":");
+    private static final byte[] FIELDS = ascii(",\"fields\":{");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+    private static final byte[][] TYPE_NAMES;
+
+    static {
+        final MessageType[] types = MessageType.values();
+        TYPE_NAMES = new byte[types.length][];
+        for (final MessageType type : types) {
+            TYPE_NAMES[type.ordinal()] = ascii(type.name());
+        }
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] digits;
+    private final ScheduledExecutorService flusher;
+
+    private Flow.Subscription subscription;
+    private long written;
+    private long bytesWritten;
+    private long writeErrors;
+    private boolean closed;
+
+    /**
+     * Opens (or appends to) a JSON Lines file.
+     *
+     * @param file          the output file
+     * @param bufferBytes   the size of the reusable encode buffer
+     * @param flushMillis   the maximum time a record stays buffered
+     * @throws IOException if the file cannot be opened
+     */
+    public JsonLinesSink(final Path file, final int bufferBytes, final long flushMillis) throws IOException {
+        if (bufferBytes < MIN_BUFFER_BYTES) {
+            throw new IllegalArgumentException("Buffer must hold at least " + MIN_BUFFER_BYTES + " bytes");
+        }
+        if (flushMillis < 1) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.buffer = ByteBuffer.allocateDirect(bufferBytes);
+        this.digits = new byte[20];
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "JsonLinesSink-Flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void onSubscribe(final Flow.Subscription subscription) {
+        if (closed) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(final Message item) {
+        write(item);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        close();
+    }
+
+    @Override
+    public void onComplete() {
+        close();
+    }
+
+    /**
+     * Encodes one message into the buffer, writing the buffer out if it fills up.
+     *
+     * @param message the message
+     */
+    public synchronized void write(final Message message) {
+        if (closed) {
+            return;
+        }
+        put(SEQ);
+        putLong(message.getSequence());
+        put(TS);
+        putTimestamp(message.getTimestamp());
+        put(TYPE);
+        put(TYPE_NAMES[message.getType().ordinal()]);
+        put(MSG);
+        putString(message.getContent());
+
+        final LogFields fields = message.getFields();
+        if (!fields.isEmpty()) {
+            put(FIELDS);
+            for (int i = 0; i < fields.size(); i++) {
+                if (i > 0) {
+                    putByte((byte) ',');
+                }
+                putString(fields.key(i));
+                putByte((byte) ':');
+                putValue(fields.value(i));
+            }
+            putByte((byte) '}');
+        }
+        putByte((byte) '}');
+        putByte((byte) '\n');
+        written++;
+    }
+
+    /**
+     * Writes all buffered records to the file.
+     */
+    public synchronized void flush() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                bytesWritten += channel.write(buffer);
+            }
+        } catch (final IOException e) {
+            // Logging a failure of the log file would feed back into this sink
+            writeErrors++;
+        }
+        buffer.clear();
+    }
+
+    public synchronized long getWrittenCount() {
+        return written;
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new HashMap<>();
+        stats.put("written", written);
+        stats.put("bytes_written", bytesWritten);
+        stats.put("buffered_bytes", buffer.position());
+        stats.put("write_errors", writeErrors);
+        return stats;
+    }
+
+    /**
+     * Cancels the subscription, flushes buffered records and closes the file.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        flush();
+        closed = true;
+        flusher.shutdown();
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            writeErrors++;
+        }
+    }
+
+    private void putValue(final Object value) {
+        if (value == null) {
+            put(NULL);
+        } else if (value instanceof String string) {
+            putString(string);
+        } else if (value instanceof Boolean bool) {
+            put(bool ? TRUE : FALSE);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            putLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            final double d = ((Number) value).doubleValue();
+            if (Double.isFinite(d)) {
+                putAscii(Double.toString(d));
+            } else {
+                put(NULL);
+            }
+        } else {
+            putAscii(value.toString());
+        }
+    }
+
+    private void putString(final String s) {
+        putByte((byte) '"');
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.remaining() < MAX_CHAR_BYTES) {
+                flush();
+            }
+            final char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                buffer.put((byte) '\\').put((byte) c);
+            } else if (c < 0x20) {
+                switch (c) {
+                    case '\n': buffer.put((byte) '\\').put((byte) 'n'); break;
+                    case '\r': buffer.put((byte) '\\').put((byte) 'r'); break;
+                    case '\t': buffer.put((byte) '\\').put((byte) 't'); break;
+                    default:
+                        buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                                .put(HEX[c >> 4]).put(HEX[c & 0xF]);
+                        break;
+                }
+            } else if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                        .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        putByte((byte) '"');
+    }
+
+    /**
+     * Writes an ISO-8601 UTC timestamp with millisecond precision.
+     */
+    private void putTimestamp(final Instant timestamp) {
+        final long seconds = timestamp.getEpochSecond();
+        final long days = Math.floorDiv(seconds, 86_400L);
+        final int secondOfDay = (int) Math.floorMod(seconds, 86_400L);
+
+        // Civil date from days since the epoch (proleptic Gregorian calendar)
+        final long z = days + 719_468;
+        final long era = Math.floorDiv(z, 146_097);
+        final long dayOfEra = z - era * 146_097;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long mp = (5 * dayOfYear + 2) / 153;
+        final int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        final int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        putPadded(year, 4);
+        putByte((byte) '-');
+        putPadded(month, 2);
+        putByte((byte) '-');
+        putPadded(day, 2);
+        putByte((byte) 'T');
+        putPadded(secondOfDay / 3600, 2);
+        putByte((byte) ':');
+        putPadded(secondOfDay / 60 % 60, 2);
+        putByte((byte) ':');
+        putPadded(secondOfDay % 60, 2);
+        putByte((byte) '.');
+        putPadded(timestamp.getNano() / 1_000_000, 3);
+        putByte((byte) 'Z');
+    }
+
+    private void putPadded(final long value, final int width) {
+        ensure(width);
+        long v = value;
+        final int start = buffer.position();
+        for (int i = width - 1; i >= 0; i--) {
+            buffer.put(start + i, (byte) ('0' + v % 10));
+            v /= 10;
+        }
+        buffer.position(start + width);
+    }
+
+    private void putLong(final long value) {
+        if (value == Long.MIN_VALUE) {
+            putAscii("-9223372036854775808");
+            return;
+        }
+        ensure(digits.length + 1);
+        if (value < 0) {
+            buffer.put((byte) '-');
+        }
+        long v = Math.abs(value);
+        int pos = digits.length;
+        do {
+            digits[--pos] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        buffer.put(digits, pos, digits.length - pos);
+    }
+
+    private void putAscii(final String s) {
+        for (int i = 0; i < s.length(); i++) {
+            putByte((byte) s.charAt(i));
+        }
+    }
+
+    private void put(final byte[] bytes) {
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private void putByte(final byte b) {
+        ensure(1);
+        buffer.put(b);
+    }
+
+    private void ensure(final int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private static byte[] ascii(final String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,167 @@
+package com.riege.rmc.terminal.logging;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable, ordered key/value pairs attached to a {@link Message}.
+ * <p>
+ * Values are limited to strings, numbers and booleans so every record can be
+ * encoded losslessly by the packed store and the JSON Lines sink. Pairs are
+ * held in a single flat array; lookups are linear, which is the fastest
+ * option for the handful of fields a log record carries.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * Logger.log("Command completed", MessageType.INFO,
+ *         LogFields.of("command", "help", "sender", "console", "duration_us", 412L));
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class LogFields {
+
+    public static final LogFields EMPTY = new LogFields(new Object[0]);
+
+    /**
+     * Alternating keys and values.
+     */
+    private final Object[] pairs;
+
+    private LogFields(final Object[] pairs) {
+        this.pairs = pairs;
+    }
+
+    /**
+     * Creates fields from alternating keys and values.
+     *
+     * @param keysAndValues {@code key1, value1, key2, value2, ...}
+     * @return the fields
+     * @throws IllegalArgumentException if a key is not a string, a key repeats or a value type is unsupported
+     */
+    public static LogFields of(final Object... keysAndValues) {
+        if (keysAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Expected alternating keys and values");
+        }
+        if (keysAndValues.length == 0) {
+            return EMPTY;
+        }
+        final Object[] pairs = keysAndValues.clone();
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (!(pairs[i] instanceof String key) || key.isEmpty()) {
+                throw new IllegalArgumentException("Field keys must be non-empty strings");
+            }
+            checkValue(key, pairs[i + 1]);
+            for (int j = 0; j < i; j += 2) {
+                if (key.equals(pairs[j])) {
+                    throw new IllegalArgumentException("Duplicate field: " + key);
+                }
+            }
+        }
+        return new LogFields(pairs);
+    }
+
+    /**
+     * Returns a copy with the given field added or replaced.
+     *
+     * @param key   the field name
+     * @param value a string, number, boolean or {@code null}
+     * @return the new fields
+     */
+    public LogFields with(final String key, final Object value) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Field keys must be non-empty strings");
+        }
+        checkValue(key, value);
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (pairs[i].equals(key)) {
+                final Object[] copy = pairs.clone();
+                copy[i + 1] = value;
+                return new LogFields(copy);
+            }
+        }
+        final Object[] copy = Arrays.copyOf(pairs, pairs.length + 2);
+        copy[pairs.length] = key;
+        copy[pairs.length + 1] = value;
+        return new LogFields(copy);
+    }
+
+    public int size() {
+        return pairs.length / 2;
+    }
+
+    public boolean isEmpty() {
+        return pairs.length == 0;
+    }
+
+    /**
+     * Returns the name of the field at {@code index}, in insertion order.
+     */
+    public String key(final int index) {
+        return (String) pairs[index * 2];
+    }
+
+    /**
+     * Returns the value of the field at {@code index}, in insertion order.
+     */
+    public Object value(final int index) {
+        return pairs[index * 2 + 1];
+    }
+
+    /**
+     * Returns the value of a field, or {@code null} if it is absent.
+     */
+    public Object get(final String key) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (pairs[i].equals(key)) {
+                return pairs[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the fields as an unmodifiable map in insertion order.
+     */
+    public Map<String, Object> asMap() {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put((String) pairs[i], pairs[i + 1]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static void checkValue(final String key, final Object value) {
+        if (value != null && !(value instanceof String) && !(value instanceof Number) && !(value instanceof Boolean)) {
+            throw new IllegalArgumentException("Unsupported value type for field '" + key + "': "
+                    + value.getClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof LogFields other && Arrays.equals(pairs, other.pairs);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(pairs);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(pairs[i]).append('=').append(pairs[i + 1]);
+        }
+        return sb.append('}').toString();
+    }
+}
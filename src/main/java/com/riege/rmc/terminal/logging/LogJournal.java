@@ -0,0 +1,440 @@
+package com.riege.rmc.terminal.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Persistent, memory-mapped journal of logged messages.
+ * <p>
+ * Logging threads only hand messages to a lock-free queue. A single writer
+ * thread drains it, puts the records back into sequence order (waiting up to
+ * {@value #REORDER_MILLIS} ms for a producer that fell behind), and copies them
+ * into fixed-size segment files mapped into memory. The writer forces dirty
+ * pages to disk every {@code syncEvery} records and on rotation;
+ * {@link #sync()} and {@link #close()} write what is queued and force
+ * synchronously. When a segment is full a new one is
+ * started, and the oldest segments are deleted once more than
+ * {@code maxSegments} exist. On open, appends continue in the most recent
+ * segment, so restarts do not consume segments.
+ * </p>
+ * <p>
+ * Each record is laid out as:
+ * <pre>
+ * int   length     number of bytes after this field (0 marks the end of a segment)
+ * long  sequence   logger sequence number
+ * long  timestamp  epoch time in nanoseconds
+ * byte  type       {@link MessageType} ordinal
+ * byte[] payload   UTF-8 message content, cut on a code point boundary if it
+ *                  does not fit in a segment
+ * </pre>
+ * A zero length is written after every record, so readers stop at the end of
+ * the data without scanning the rest of the segment.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class LogJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int LENGTH_BYTES = Integer.BYTES;
+    private static final int HEADER_BYTES = Long.BYTES + Long.BYTES + Byte.BYTES;
+    private static final MessageType[] TYPES = MessageType.values();
+    private static final long CLOSE_TIMEOUT_MILLIS = 500;
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long REORDER_MILLIS = 200;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final int syncEvery;
+    private final Deque<Path> segments;
+    private final Queue<Message> handoff;
+    private final Thread writer;
+
+    // Writer state, guarded by this journal's monitor, which only the writer
+    // thread takes on the logging path
+    private final PriorityQueue<Message> reorder;
+    private long nextExpected;
+    private long gapSince;
+    private long nextSegmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int unsynced;
+
+    private volatile boolean idle;
+    private volatile boolean closed;
+
+    /**
+     * Opens a journal in the given directory, creating it if needed.
+     * <p>
+     * Existing segments are kept for {@link #replay(int)}. New records are
+     * appended after the last record of the most recent segment, unless that
+     * segment was created with a different size.
+     * </p>
+     *
+     * @param directory   the journal directory
+     * @param segmentSize the size of each segment file, in bytes
+     * @param maxSegments the maximum number of segment files to keep
+     * @param syncEvery   the number of appends between forced syncs
+     * @throws IOException if the directory or first segment cannot be created
+     */
+    public LogJournal(final Path directory, final int segmentSize, final int maxSegments, final int syncEvery)
+            throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (segmentSize < LENGTH_BYTES * 2 + HEADER_BYTES || maxSegments < 1 || syncEvery < 1) {
+            throw new IllegalArgumentException("Invalid journal configuration");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.syncEvery = syncEvery;
+        this.segments = new ArrayDeque<>(listSegments(directory));
+        this.handoff = new ConcurrentLinkedQueue<>();
+        this.reorder = new PriorityQueue<>(Comparator.comparingLong(Message::getSequence));
+        this.nextExpected = -1;
+
+        this.nextSegmentIndex = segments.isEmpty() ? 0 : segmentIndex(segments.peekLast()) + 1;
+        if (!reopenLastSegment()) {
+            openNextSegment();
+        }
+        trimSegments();
+
+        this.writer = new Thread(this::runWriter, "LogJournal-Writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a message for the writer thread; never blocks.
+     *
+     * @param message the message to persist
+     */
+    public void append(final Message message) {
+        if (closed) {
+            return;
+        }
+        handoff.offer(message);
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Sets the sequence of the first message that will be appended, so that
+     * records arriving ahead of it are held back in order.
+     *
+     * @param sequence the next sequence of the logger this journal is attached to
+     */
+    synchronized void expect(final long sequence) {
+        nextExpected = sequence;
+    }
+
+    /**
+     * Writes every queued record and forces the journal to disk on the calling thread.
+     */
+    public synchronized void sync() {
+        if (buffer != null) {
+            drain(true);
+            force(buffer);
+            unsynced = 0;
+        }
+    }
+
+    /**
+     * Reads the most recent messages from all segments on disk, after writing
+     * the queued ones.
+     *
+     * @param maxMessages the maximum number of messages to return
+     * @return the most recent messages, oldest first
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized List<Message> replay(final int maxMessages) throws IOException {
+        if (buffer != null) {
+            drain(true);
+        }
+        final Deque<Message> recent = new ArrayDeque<>();
+        final List<Path> newestFirst = new ArrayList<>(segments);
+        for (int i = newestFirst.size() - 1; i >= 0 && recent.size() < maxMessages; i--) {
+            final Deque<Message> older = new ArrayDeque<>();
+            readSegment(newestFirst.get(i), older, maxMessages - recent.size());
+            while (!older.isEmpty()) {
+                recent.addFirst(older.pollLast());
+            }
+        }
+        return new ArrayList<>(recent);
+    }
+
+    /**
+     * Returns the number of segment files currently kept.
+     *
+     * @return the segment count
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Syncs and unmaps the active segment.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            sync();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close log journal: " + e.getMessage());
+            }
+            buffer = null;
+        }
+    }
+
+    private void runWriter() {
+        while (!closed) {
+            if (handoff.isEmpty()) {
+                idle = true;
+                if (handoff.isEmpty() && !closed) {
+                    LockSupport.parkNanos(reorder.isEmpty()
+                            ? TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS)
+                            : TimeUnit.MILLISECONDS.toNanos(REORDER_MILLIS));
+                }
+                idle = false;
+            }
+            synchronized (this) {
+                if (buffer != null) {
+                    drain(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves queued messages into the reorder buffer and writes those that are
+     * next in sequence. A missing sequence is waited for up to
+     * {@value #REORDER_MILLIS} ms, or not at all if {@code all} is set.
+     */
+    private void drain(final boolean all) {
+        Message message;
+        while ((message = handoff.poll()) != null) {
+            reorder.add(message);
+        }
+        while (!reorder.isEmpty() && buffer != null) {
+            final long sequence = reorder.peek().getSequence();
+            if (nextExpected >= 0 && sequence > nextExpected && !all) {
+                final long now = System.nanoTime();
+                if (gapSince == 0) {
+                    gapSince = now;
+                    return;
+                }
+                if (now - gapSince < TimeUnit.MILLISECONDS.toNanos(REORDER_MILLIS)) {
+                    return;
+                }
+            }
+            gapSince = 0;
+            write(reorder.poll());
+            nextExpected = Math.max(nextExpected, sequence + 1);
+        }
+    }
+
+    private void write(final Message message) {
+        byte[] payload = message.getContent().getBytes(StandardCharsets.UTF_8);
+        final int maxPayload = segmentSize - LENGTH_BYTES * 2 - HEADER_BYTES;
+        if (payload.length > maxPayload) {
+            int cut = maxPayload;
+            // Back off continuation bytes so the cut does not split a UTF-8 sequence
+            while (cut > 0 && (payload[cut] & 0xC0) == 0x80) {
+                cut--;
+            }
+            payload = Arrays.copyOf(payload, cut);
+        }
+
+        final int recordSize = LENGTH_BYTES + HEADER_BYTES + payload.length;
+        try {
+            // Keep room for the zero terminator that marks the end of the segment
+            if (buffer.remaining() < recordSize + LENGTH_BYTES) {
+                rotate();
+            }
+        } catch (IOException e) {
+            System.err.println("Log journal rotation failed: " + e.getMessage());
+            closed = true;
+            buffer = null;
+            return;
+        }
+
+        final Instant timestamp = message.getTimestamp();
+        buffer.putInt(HEADER_BYTES + payload.length);
+        buffer.putLong(message.getSequence());
+        buffer.putLong(timestamp.getEpochSecond() * 1_000_000_000L + timestamp.getNano());
+        buffer.put((byte) message.getType().ordinal());
+        buffer.put(payload);
+        buffer.putInt(buffer.position(), 0);
+
+        if (++unsynced >= syncEvery) {
+            unsynced = 0;
+            force(buffer);
+        }
+    }
+
+    private void rotate() throws IOException {
+        // The mapping stays valid after its channel is closed
+        force(buffer);
+        unsynced = 0;
+        channel.close();
+        openNextSegment();
+        trimSegments();
+    }
+
+    private static void force(final MappedByteBuffer target) {
+        try {
+            target.force();
+        } catch (RuntimeException e) {
+            System.err.println("Log journal sync failed: " + e.getMessage());
+        }
+    }
+
+    private void trimSegments() throws IOException {
+        while (segments.size() > maxSegments) {
+            Files.deleteIfExists(segments.pollFirst());
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        Files.createDirectories(directory);
+        final Path segment = directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, nextSegmentIndex++, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segments.addLast(segment);
+    }
+
+    /**
+     * Maps the most recent segment and positions the buffer after its last record.
+     *
+     * @return {@code false} if there is no segment of the configured size to continue
+     */
+    private boolean reopenLastSegment() throws IOException {
+        final Path last = segments.peekLast();
+        if (last == null || Files.size(last) != segmentSize) {
+            return false;
+        }
+        channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        int length;
+        while ((length = nextRecordLength(buffer)) > 0) {
+            buffer.position(buffer.position() + LENGTH_BYTES + length);
+        }
+        if (buffer.remaining() >= LENGTH_BYTES) {
+            // Cut off a torn record, if any, so later appends cannot run into it
+            buffer.putInt(buffer.position(), 0);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the length of the record at the buffer position, or {@code -1}
+     * at the end of the data or at a torn record.
+     */
+    private static int nextRecordLength(final ByteBuffer data) {
+        if (data.remaining() < LENGTH_BYTES) {
+            return -1;
+        }
+        final int length = data.getInt(data.position());
+        return length >= HEADER_BYTES && length <= data.remaining() - LENGTH_BYTES ? length : -1;
+    }
+
+    private static void readSegment(final Path segment, final Deque<Message> recent, final int maxMessages)
+            throws IOException {
+        if (!Files.exists(segment)) {
+            return;
+        }
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+            final MappedByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            int length;
+            while ((length = nextRecordLength(data)) > 0) {
+                data.position(data.position() + LENGTH_BYTES);
+                final long sequence = data.getLong();
+                final long timestamp = data.getLong();
+                final int typeOrdinal = data.get();
+                final byte[] payload = new byte[length - HEADER_BYTES];
+                data.get(payload);
+
+                final MessageType type = typeOrdinal >= 0 && typeOrdinal < TYPES.length
+                        ? TYPES[typeOrdinal] : MessageType.PLAIN;
+                recent.addLast(new Message(
+                        new String(payload, StandardCharsets.UTF_8),
+                        type,
+                        sequence,
+                        Instant.ofEpochSecond(0, timestamp)
+                ));
+                if (recent.size() > maxMessages) {
+                    recent.pollFirst();
+                }
+            }
+        }
+    }
+
+    private static List<Path> listSegments(final Path directory) throws IOException {
+        final List<Path> found = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return found;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (final Path path : stream) {
+                found.add(path);
+            }
+        }
+        found.sort(null);
+        return found;
+    }
+
+    private static long segmentIndex(final Path segment) {
+        final String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @Override
+    public String toString() {
+        return "LogJournal{" +
+                "directory=" + directory +
+                ", segments=" + segments.size() +
+                '}';
+    }
+}
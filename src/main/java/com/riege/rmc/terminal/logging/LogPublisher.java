@@ -0,0 +1,186 @@
+package com.riege.rmc.terminal.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Live stream of logged messages.
+ * <p>
+ * Every subscriber owns a bounded buffer and receives messages according to
+ * the demand it signals through {@link Flow.Subscription#request(long)}.
+ * Publishing never blocks the logging thread: when a subscriber's buffer is
+ * full, the message is dropped for that subscriber only and counted in
+ * {@link #getDroppedCount()}. Subscribers are notified on daemon threads
+ * named {@code MessageLogger-Subscriber-N}.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * Logger.getInstance().getPublisher().subscribe(mySubscriber);
+ * Logger.getInstance().getPublisher().listen(message -> metrics.count(message.getType()));
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class LogPublisher implements Flow.Publisher<Message>, AutoCloseable {
+
+    private final SubmissionPublisher<Message> delegate;
+    private final ExecutorService executor;
+    private final AtomicLong published;
+    private final AtomicLong dropped;
+
+    /**
+     * Creates a publisher.
+     *
+     * @param bufferCapacity the maximum number of buffered messages per subscriber
+     */
+    public LogPublisher(final int bufferCapacity) {
+        if (bufferCapacity < 1) {
+            throw new IllegalArgumentException("Buffer capacity must be positive");
+        }
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "MessageLogger-Subscriber-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delegate = new SubmissionPublisher<>(executor, bufferCapacity);
+        this.published = new AtomicLong();
+        this.dropped = new AtomicLong();
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Message> subscriber) {
+        delegate.subscribe(subscriber);
+    }
+
+    /**
+     * Subscribes a listener with unbounded demand. The listener still runs on
+     * a subscriber thread and loses messages if it falls behind.
+     *
+     * @param listener receives every message
+     * @return the subscription, which can be cancelled to stop listening
+     */
+    public Flow.Subscription listen(final Consumer<Message> listener) {
+        final ListenerSubscriber subscriber = new ListenerSubscriber(listener);
+        delegate.subscribe(subscriber);
+        return subscriber.handle;
+    }
+
+    /**
+     * Offers a message to every subscriber without blocking.
+     *
+     * @param message the message
+     */
+    void publish(final Message message) {
+        if (!delegate.hasSubscribers() || delegate.isClosed()) {
+            return;
+        }
+        published.incrementAndGet();
+        delegate.offer(message, (subscriber, item) -> {
+            dropped.incrementAndGet();
+            return false;
+        });
+    }
+
+    public boolean hasSubscribers() {
+        return delegate.hasSubscribers();
+    }
+
+    public int getSubscriberCount() {
+        return delegate.getNumberOfSubscribers();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new HashMap<>();
+        stats.put("subscribers", delegate.getNumberOfSubscribers());
+        stats.put("published", published.get());
+        stats.put("dropped", dropped.get());
+        stats.put("max_buffered", delegate.estimateMaximumLag());
+        return stats;
+    }
+
+    /**
+     * Completes every subscription once its buffered messages are delivered.
+     */
+    @Override
+    public void close() {
+        delegate.close();
+        executor.shutdown();
+    }
+
+    /**
+     * Adapts a {@link Consumer} to a subscriber with unbounded demand.
+     */
+    private static final class ListenerSubscriber implements Flow.Subscriber<Message> {
+        private final Consumer<Message> listener;
+        private final SubscriptionHandle handle = new SubscriptionHandle();
+
+        ListenerSubscriber(final Consumer<Message> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            handle.attach(subscription);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final Message item) {
+            listener.accept(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    /**
+     * Subscription returned before the publisher has called {@code onSubscribe};
+     * a cancellation requested early is applied as soon as it does.
+     */
+    private static final class SubscriptionHandle implements Flow.Subscription {
+        private Flow.Subscription target;
+        private boolean cancelled;
+
+        synchronized void attach(final Flow.Subscription subscription) {
+            target = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public synchronized void request(final long n) {
+            if (target != null) {
+                target.request(n);
+            }
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            if (target != null) {
+                target.cancel();
+            }
+        }
+    }
+}
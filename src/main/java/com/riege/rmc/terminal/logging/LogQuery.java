@@ -0,0 +1,186 @@
+package com.riege.rmc.terminal.logging;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Search criteria for retained log messages.
+ * <p>
+ * All criteria are combined with AND. An empty query matches every
+ * retained message, up to the limit.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * List<Message> errors = Logger.search(new LogQuery()
+ *         .type(MessageType.ERROR)
+ *         .since(Instant.now().minus(Duration.ofMinutes(10)))
+ *         .tokens("connection", "refused")
+ *         .limit(20));
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class LogQuery {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final Set<MessageType> types = EnumSet.noneOf(MessageType.class);
+    private final List<String> tokens = new ArrayList<>();
+    private Instant since;
+    private Instant until;
+    private String contains;
+    private int limit = DEFAULT_LIMIT;
+
+    /**
+     * Restricts results to the given types. May be called repeatedly to allow several types.
+     *
+     * @param type the message type
+     * @return this query for chaining
+     */
+    public LogQuery type(final MessageType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        types.add(type);
+        return this;
+    }
+
+    /**
+     * Restricts results to messages logged at or after {@code since}.
+     *
+     * @param since the inclusive lower time bound
+     * @return this query for chaining
+     */
+    public LogQuery since(final Instant since) {
+        this.since = since;
+        return this;
+    }
+
+    /**
+     * Restricts results to messages logged before {@code until}.
+     *
+     * @param until the exclusive upper time bound
+     * @return this query for chaining
+     */
+    public LogQuery until(final Instant until) {
+        this.until = until;
+        return this;
+    }
+
+    /**
+     * Restricts results to messages containing {@code text}, ignoring case.
+     *
+     * @param text the substring to look for
+     * @return this query for chaining
+     */
+    public LogQuery contains(final String text) {
+        this.contains = text == null || text.isEmpty() ? null : text;
+        return this;
+    }
+
+    /**
+     * Restricts results to messages containing every given word as a whole token, ignoring case.
+     *
+     * @param words the required tokens
+     * @return this query for chaining
+     */
+    public LogQuery tokens(final String... words) {
+        for (final String word : words) {
+            tokens.addAll(MessageIndex.tokenize(word));
+        }
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of results; the most recent matches are kept.
+     *
+     * @param limit the maximum result count
+     * @return this query for chaining
+     */
+    public LogQuery limit(final int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public Set<MessageType> getTypes() {
+        return Collections.unmodifiableSet(types);
+    }
+
+    public List<String> getTokens() {
+        return Collections.unmodifiableList(tokens);
+    }
+
+    public Instant getSince() {
+        return since;
+    }
+
+    public Instant getUntil() {
+        return until;
+    }
+
+    public String getContains() {
+        return contains;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Checks a message against every criterion.
+     *
+     * @param message the message
+     * @return {@code true} if the message matches
+     */
+    boolean matches(final Message message) {
+        if (!types.isEmpty() && !types.contains(message.getType())) {
+            return false;
+        }
+        if (since != null && message.getTimestamp().isBefore(since)) {
+            return false;
+        }
+        if (until != null && !message.getTimestamp().isBefore(until)) {
+            return false;
+        }
+        if (contains != null && !containsIgnoreCase(message.getContent(), contains)) {
+            return false;
+        }
+        if (!tokens.isEmpty()) {
+            final List<String> messageTokens = MessageIndex.tokenize(message.getContent());
+            return messageTokens.containsAll(tokens);
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(final String content, final String text) {
+        final int max = content.length() - text.length();
+        for (int i = 0; i <= max; i++) {
+            if (content.regionMatches(true, i, text, 0, text.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "LogQuery{" +
+                "types=" + types +
+                ", tokens=" + tokens +
+                ", since=" + since +
+                ", until=" + until +
+                ", contains='" + contains + '\'' +
+                ", limit=" + limit +
+                '}';
+    }
+}
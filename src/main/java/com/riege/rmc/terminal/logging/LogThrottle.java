@@ -0,0 +1,292 @@
+package com.riege.rmc.terminal.logging;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Output throttle that protects the terminal from log storms.
+ * <p>
+ * The throttle applies two stages to every message before it is printed:
+ * <ol>
+ *   <li>Identical messages (same type and content) are collapsed: the first
+ *       occurrence opens a window for its content, and further occurrences
+ *       within that window are only counted, even when other messages are
+ *       interleaved. When the window ends, a "repeated N times" summary is
+ *       printed and the next occurrence is shown again.</li>
+ *   <li>Types with a configured rate are sampled by a token bucket. Messages
+ *       that find the bucket empty are dropped and reported in a periodic
+ *       summary. ERROR messages always get through at least once per window,
+ *       even when their bucket is empty.</li>
+ * </ol>
+ * Only terminal output is throttled: every message is still retained in the
+ * logger history and journal.
+ * </p>
+ * <p>
+ * No global lock is taken: repeats are tracked in a concurrent map, and only
+ * messages of a sampled type synchronize, on the bucket of their type. At most
+ * {@value #MAX_TRACKED} distinct contents are tracked per window; beyond that,
+ * new contents pass uncollapsed. Summaries that fall due while no message
+ * arrives are printed by {@link #flushDue}, which the logger calls once per
+ * window.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>{@code
+ * Logger.getInstance().setThrottle(new LogThrottle(Duration.ofSeconds(1))
+ *         .rate(MessageType.DEBUG, 50, 200)
+ *         .rate(MessageType.INFO, 200, 500));
+ * }</pre>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class LogThrottle {
+
+    private static final int MAX_TRACKED = 4096;
+    private static final int MAX_SUMMARY_LENGTH = 120;
+
+    private final long windowNanos;
+    private final Map<Key, Repeat> recent;
+    private volatile Map<MessageType, Bucket> buckets;
+    private volatile long lastErrorPassed;
+
+    /**
+     * Creates a throttle that collapses duplicates but samples no type until
+     * {@link #rate} is configured.
+     *
+     * @param window the repeat, summary and ERROR pass-through window
+     */
+    public LogThrottle(final Duration window) {
+        if (window == null || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.windowNanos = window.toNanos();
+        this.recent = new ConcurrentHashMap<>();
+        this.buckets = Collections.emptyMap();
+        this.lastErrorPassed = System.nanoTime() - windowNanos;
+    }
+
+    /**
+     * Returns a throttle with a one second window that samples DEBUG, INFO and
+     * ERROR. ERROR still passes at least once per window.
+     *
+     * @return the default throttle
+     */
+    public static LogThrottle defaults() {
+        return new LogThrottle(Duration.ofSeconds(1))
+                .rate(MessageType.DEBUG, 50, 200)
+                .rate(MessageType.INFO, 200, 500)
+                .rate(MessageType.ERROR, 20, 50);
+    }
+
+    public Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+
+    /**
+     * Samples a message type with a token bucket.
+     *
+     * @param type      the message type
+     * @param perSecond the sustained number of messages per second
+     * @param burst     the maximum burst size
+     * @return this throttle for chaining
+     */
+    public synchronized LogThrottle rate(final MessageType type, final double perSecond, final int burst) {
+        if (type == null || perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Invalid rate for " + type);
+        }
+        final Map<MessageType, Bucket> updated = new EnumMap<>(MessageType.class);
+        updated.putAll(buckets);
+        updated.put(type, new Bucket(perSecond, burst));
+        buckets = updated;
+        return this;
+    }
+
+    /**
+     * Runs a message through the throttle.
+     *
+     * @param message the message to print
+     * @param out     receives the message if admitted, and any due summaries
+     */
+    public void admit(final Message message, final Consumer<Message> out) {
+        final long now = System.nanoTime();
+        if (isRepeat(message, now, out)) {
+            return;
+        }
+
+        final MessageType type = message.getType();
+        final Bucket bucket = buckets.get(type);
+        if (bucket != null) {
+            final boolean errorDue = type == MessageType.ERROR && now - lastErrorPassed >= windowNanos;
+            if (!bucket.tryAcquire(now) && !errorDue) {
+                bucket.suppressed.increment();
+                return;
+            }
+            if (type == MessageType.ERROR) {
+                lastErrorPassed = now;
+            }
+            out.accept(message);
+            reportSuppressed(type, bucket, now, out, false);
+            return;
+        }
+        out.accept(message);
+    }
+
+    /**
+     * Emits the summaries whose window has elapsed, so that the end of a storm
+     * is reported even if no further message arrives.
+     *
+     * @param out receives the summaries
+     */
+    public void flushDue(final Consumer<Message> out) {
+        emitRepeats(System.nanoTime(), out, false);
+        reportAllSuppressed(out, false);
+    }
+
+    /**
+     * Emits every pending summary, e.g. before the throttle is removed.
+     *
+     * @param out receives the summaries
+     */
+    public void flush(final Consumer<Message> out) {
+        emitRepeats(System.nanoTime(), out, true);
+        reportAllSuppressed(out, true);
+    }
+
+    /**
+     * Counts the message if its content is already shown in an open window;
+     * otherwise opens a window for it, after summarizing the expired one.
+     */
+    private boolean isRepeat(final Message message, final long now, final Consumer<Message> out) {
+        final Key key = new Key(message.getType(), message.getContent());
+        final Repeat current = recent.get(key);
+        if (current != null) {
+            if (now - current.openedAt < windowNanos) {
+                current.count.increment();
+                return true;
+            }
+            if (recent.remove(key, current)) {
+                summarize(key, current, out);
+            }
+        }
+        if (recent.size() >= MAX_TRACKED) {
+            return false;
+        }
+        final Repeat opened = recent.putIfAbsent(key, new Repeat(now));
+        if (opened != null && now - opened.openedAt < windowNanos) {
+            opened.count.increment();
+            return true;
+        }
+        return false;
+    }
+
+    private void emitRepeats(final long now, final Consumer<Message> out, final boolean force) {
+        final Iterator<Map.Entry<Key, Repeat>> iterator = recent.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Key, Repeat> entry = iterator.next();
+            final Repeat repeat = entry.getValue();
+            if ((force || now - repeat.openedAt >= windowNanos) && recent.remove(entry.getKey(), repeat)) {
+                summarize(entry.getKey(), repeat, out);
+            }
+        }
+    }
+
+    private static void summarize(final Key key, final Repeat repeat, final Consumer<Message> out) {
+        final long repeats = repeat.count.sum();
+        if (repeats == 0) {
+            return;
+        }
+        String content = key.content();
+        final int newline = content.indexOf('\n');
+        if (newline >= 0) {
+            content = content.substring(0, newline);
+        }
+        if (content.length() > MAX_SUMMARY_LENGTH) {
+            content = content.substring(0, MAX_SUMMARY_LENGTH) + "...";
+        }
+        out.accept(new Message("(repeated " + repeats + " more time(s)) " + content, key.type()));
+    }
+
+    private void reportAllSuppressed(final Consumer<Message> out, final boolean force) {
+        final long now = System.nanoTime();
+        for (final Map.Entry<MessageType, Bucket> entry : buckets.entrySet()) {
+            reportSuppressed(entry.getKey(), entry.getValue(), now, out, force);
+        }
+    }
+
+    private void reportSuppressed(final MessageType type, final Bucket bucket, final long now,
+                                  final Consumer<Message> out, final boolean force) {
+        final long suppressed = bucket.takeReport(now, windowNanos, force);
+        if (suppressed > 0) {
+            out.accept(new Message("Throttled " + suppressed + " " + type + " message(s)", MessageType.WARNING));
+        }
+    }
+
+    private record Key(MessageType type, String content) {
+    }
+
+    /**
+     * Occurrences of one content within its window, beyond the one shown.
+     */
+    private static final class Repeat {
+        private final long openedAt;
+        private final LongAdder count;
+
+        Repeat(final long openedAt) {
+            this.openedAt = openedAt;
+            this.count = new LongAdder();
+        }
+    }
+
+    /**
+     * Token bucket refilled continuously at a fixed rate.
+     */
+    private static final class Bucket {
+        private final double tokensPerNano;
+        private final int capacity;
+        private final LongAdder suppressed;
+        private double tokens;
+        private long refilledAt;
+        private long lastReport;
+
+        Bucket(final double perSecond, final int capacity) {
+            this.tokensPerNano = perSecond / 1_000_000_000d;
+            this.capacity = capacity;
+            this.suppressed = new LongAdder();
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+            this.lastReport = refilledAt;
+        }
+
+        synchronized boolean tryAcquire(final long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Returns and resets the suppressed count if a report is due, otherwise 0.
+         */
+        synchronized long takeReport(final long now, final long windowNanos, final boolean force) {
+            if (!force && now - lastReport < windowNanos) {
+                return 0;
+            }
+            final long count = suppressed.sumThenReset();
+            if (count > 0) {
+                lastReport = now;
+            }
+            return count;
+        }
+    }
+}
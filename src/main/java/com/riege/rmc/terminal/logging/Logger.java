@@ -1,7 +1,12 @@
 package com.riege.rmc.terminal.logging;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.List;
+import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Global singleton logger providing static access to main.java.com.riege.rmc.terminal logging functionality.
@@ -74,6 +79,24 @@ public final class Logger {
         return INSTANCE.compareAndSet(null, new MessageLogger(maxCapacity));
     }
 
+    /**
+     * Initializes the global logger with a specific storage engine.
+     * <p>
+     * Use this to retain history in a {@link PackedMessageStore}, whose capacity
+     * is expressed in bytes rather than messages.
+     * </p>
+     *
+     * @param store the message store
+     * @return {@code true} if initialization was successful; {@code false} if already initialized
+     * @throws IllegalArgumentException if store is null
+     */
+    public static boolean initialize(final MessageStore store) {
+        if (store == null) {
+            throw new IllegalArgumentException("Store cannot be null");
+        }
+        return INSTANCE.compareAndSet(null, new MessageLogger(store));
+    }
+
     /**
      * Sets a custom MessageLogger instance.
      * <p>
@@ -137,6 +160,35 @@ public final class Logger {
         INSTANCE.get().log(content, type);
     }
 
+    /**
+     * Logs a message carrying structured key/value fields.
+     *
+     * @param content the message content
+     * @param type    the message type
+     * @param fields  the structured fields
+     * @throws IllegalStateException    if the logger is not initialized
+     * @throws IllegalArgumentException if fields is null
+     */
+    public static void log(final String content, final MessageType type, final LogFields fields) {
+        ensureInitialized();
+        INSTANCE.get().log(content, type, fields);
+    }
+
+    /**
+     * Records a structured message in the history, journal and live stream
+     * without printing it to the terminal, e.g. for telemetry.
+     *
+     * @param content the message content
+     * @param type    the message type
+     * @param fields  the structured fields
+     * @throws IllegalStateException    if the logger is not initialized
+     * @throws IllegalArgumentException if fields is null
+     */
+    public static void record(final String content, final MessageType type, final LogFields fields) {
+        ensureInitialized();
+        INSTANCE.get().record(content, type, fields);
+    }
+
     /**
      * Logs an informational message.
      *
@@ -174,9 +226,14 @@ public final class Logger {
      */
     public static void error(final String content, final Throwable throwable) {
         ensureInitialized();
-        final String fullMessage = throwable != null
-                ? content + ": " + throwable.getClass().getSimpleName() + " - " + throwable.getMessage()
-                : content;
+        if (throwable == null) {
+            INSTANCE.get().error(content);
+            return;
+        }
+        final StringWriter trace = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(trace));
+        final String fullMessage = content + ": " + throwable.getClass().getSimpleName() + " - " + throwable.getMessage()
+                + "\n" + trace.toString().stripTrailing();
         INSTANCE.get().error(fullMessage);
     }
 
@@ -216,6 +273,74 @@ public final class Logger {
         INSTANCE.get().debug(content);
     }
 
+    /**
+     * Logs a lazily built debug message.
+     * <p>
+     * The supplier is only invoked if DEBUG is enabled, so building the
+     * message costs nothing when debug output is filtered out.
+     * </p>
+     *
+     * @param supplier supplies the debug message content
+     * @throws IllegalStateException if the logger is not initialized
+     */
+    public static void debug(final Supplier<String> supplier) {
+        ensureInitialized();
+        INSTANCE.get().debug(supplier);
+    }
+
+    /**
+     * Logs a parameterized debug message.
+     * <p>
+     * The pattern uses {@link String#format} syntax and is only formatted
+     * if DEBUG is enabled.
+     * </p>
+     *
+     * @param pattern the format pattern
+     * @param args    the format arguments
+     * @throws IllegalStateException if the logger is not initialized
+     */
+    public static void debug(final String pattern, final Object... args) {
+        ensureInitialized();
+        INSTANCE.get().debug(pattern, args);
+    }
+
+    /**
+     * Sets the minimum level of messages to log.
+     * <p>
+     * Messages whose type is less severe than {@code level} are discarded.
+     * Severity, lowest first: DEBUG, then INFO/SUCCESS/PLAIN, WARNING, ERROR.
+     * </p>
+     *
+     * @param level the minimum message type to log
+     * @throws IllegalStateException    if the logger is not initialized
+     * @throws IllegalArgumentException if level is null
+     */
+    public static void setLevel(final MessageType level) {
+        ensureInitialized();
+        INSTANCE.get().setMinimumLevel(level);
+    }
+
+    /**
+     * Returns the minimum level of messages to log.
+     *
+     * @return the minimum message type
+     * @throws IllegalStateException if the logger is not initialized
+     */
+    public static MessageType getLevel() {
+        ensureInitialized();
+        return INSTANCE.get().getMinimumLevel();
+    }
+
+    /**
+     * Checks if debug messages are currently logged.
+     *
+     * @return {@code true} if the logger is initialized and DEBUG is enabled
+     */
+    public static boolean isDebugEnabled() {
+        final MessageLogger logger = INSTANCE.get();
+        return logger != null && logger.isEnabled(MessageType.DEBUG);
+    }
+
     /**
      * Logs a generic message with default formatting.
      * <p>
@@ -255,6 +380,53 @@ public final class Logger {
         return INSTANCE.get().getRecentMessages(count);
     }
 
+    /**
+     * Delivers the messages logged since {@code sequence} without copying the history.
+     * <p>
+     * Pollers pass the returned {@link ReadResult#nextSequence()} to the next call;
+     * {@link ReadResult#lost()} counts messages overwritten before they were read.
+     * </p>
+     *
+     * @param sequence the first sequence to read, {@code 0} for everything retained
+     * @param max      the maximum number of messages to deliver
+     * @param consumer receives the messages, oldest first
+     * @return where to resume, how many messages were delivered and how many were lost
+     * @throws IllegalStateException    if the logger is not initialized
+     * @throws IllegalArgumentException if sequence or max is negative, or consumer is null
+     */
+    public static ReadResult readSince(final long sequence, final int max, final Consumer<Message> consumer) {
+        ensureInitialized();
+        return INSTANCE.get().readSince(sequence, max, consumer);
+    }
+
+    /**
+     * Searches retained messages by type, time range, substring and tokens.
+     *
+     * @param query the search criteria
+     * @return an unmodifiable list of the most recent matches in chronological order
+     * @throws IllegalStateException    if the logger is not initialized
+     * @throws IllegalArgumentException if query is null
+     */
+    public static List<Message> search(final LogQuery query) {
+        ensureInitialized();
+        return INSTANCE.get().search(query);
+    }
+
+    /**
+     * Subscribes to every message logged from now on.
+     * <p>
+     * The subscriber gets its own bounded buffer and controls its demand; a
+     * slow subscriber loses messages instead of blocking logging threads.
+     * </p>
+     *
+     * @param subscriber the subscriber
+     * @throws IllegalStateException if the logger is not initialized
+     */
+    public static void subscribe(final Flow.Subscriber<? super Message> subscriber) {
+        ensureInitialized();
+        INSTANCE.get().getPublisher().subscribe(subscriber);
+    }
+
     /**
      * Returns the current number of messages in the queue.
      *
@@ -3,7 +3,7 @@ package com.riege.rmc.terminal.logging;
 import java.time.Instant;
 
 /**
- * Represents a single log message with content, type, and timestamp.
+ * Represents a single log message with content, type, timestamp and optional structured fields.
  *
  * @author riege
  * @version 1.0
@@ -13,11 +13,28 @@ public final class Message {
     private final String content;
     private final MessageType type;
     private final Instant timestamp;
+    private final long sequence;
+    private final LogFields fields;
 
     public Message(final String content, final MessageType type) {
+        this(content, type, -1L);
+    }
+
+    public Message(final String content, final MessageType type, final long sequence) {
+        this(content, type, sequence, Instant.now());
+    }
+
+    Message(final String content, final MessageType type, final long sequence, final Instant timestamp) {
+        this(content, type, sequence, timestamp, LogFields.EMPTY);
+    }
+
+    Message(final String content, final MessageType type, final long sequence, final Instant timestamp,
+            final LogFields fields) {
         this.content = content;
         this.type = type;
-        this.timestamp = Instant.now();
+        this.timestamp = timestamp;
+        this.sequence = sequence;
+        this.fields = fields;
     }
 
     public String getContent() {
@@ -32,8 +49,23 @@ public final class Message {
         return timestamp;
     }
 
+    /**
+     * Returns the logger-assigned sequence number, or {@code -1} if this
+     * message was not created by a {@link MessageLogger}.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the structured fields, which are empty for plain messages.
+     */
+    public LogFields getFields() {
+        return fields;
+    }
+
     @Override
     public String toString() {
-        return "[" + type + "] " + content;
+        return fields.isEmpty() ? "[" + type + "] " + content : "[" + type + "] " + content + " " + fields;
     }
 }
\ No newline at end of file
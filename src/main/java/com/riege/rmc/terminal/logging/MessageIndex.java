@@ -0,0 +1,304 @@
+package com.riege.rmc.terminal.logging;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inverted index over the messages retained by a {@link MessageStore}.
+ * <p>
+ * The index keeps, for every lowercase token and every {@link MessageType},
+ * an ascending list of message sequence numbers. It is maintained
+ * incrementally: each search first indexes the messages published since the
+ * previous search, so logging itself never pays for indexing. Sequences that
+ * fall out of the store are pruned lazily.
+ * </p>
+ * <p>
+ * Time bounds are resolved by binary search over the sequence range, since
+ * timestamps ascend with sequences, so a {@code --since}/{@code --until}
+ * window only visits the messages inside it. Queries without tokens or a
+ * single type do not use, and do not build, the index.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+final class MessageIndex {
+
+    /**
+     * Timestamps are taken just before a message is appended, so concurrent
+     * producers can store them slightly out of sequence order; time bounds are
+     * widened by this much.
+     */
+    private static final Duration CLOCK_SLACK = Duration.ofSeconds(1);
+
+    private final MessageStore messages;
+    private final Map<String, SequenceList> postings;
+    private final Map<MessageType, SequenceList> byType;
+
+    /**
+     * Next sequence to index.
+     */
+    private long indexedUpTo;
+
+    /**
+     * Oldest sequence at the last full prune.
+     */
+    private long prunedAt;
+
+    MessageIndex(final MessageStore messages) {
+        this.messages = messages;
+        this.postings = new HashMap<>();
+        this.byType = new EnumMap<>(MessageType.class);
+    }
+
+    /**
+     * Runs a query against the retained messages.
+     *
+     * @param query the search criteria
+     * @return the most recent matches, oldest first
+     */
+    synchronized List<Message> search(final LogQuery query) {
+        final List<String> tokens = new ArrayList<>(query.getTokens());
+        if (query.getContains() != null) {
+            tokens.addAll(interiorTokens(query.getContains()));
+        }
+        final boolean singleType = query.getTypes().size() == 1;
+        if (!tokens.isEmpty() || singleType) {
+            catchUp();
+        }
+
+        final long oldest = messages.oldestSequence();
+        final List<SequenceList> required = new ArrayList<>();
+
+        for (final String token : tokens) {
+            final SequenceList list = postings.get(token);
+            if (list == null) {
+                return Collections.emptyList();
+            }
+            list.pruneBelow(oldest);
+            required.add(list);
+        }
+        if (singleType) {
+            final SequenceList list = byType.get(query.getTypes().iterator().next());
+            if (list == null) {
+                return Collections.emptyList();
+            }
+            list.pruneBelow(oldest);
+            required.add(list);
+        }
+
+        final long newest = messages.nextSequence() - 1;
+        final long lower = query.getSince() == null ? oldest
+                : firstNotBefore(query.getSince().minus(CLOCK_SLACK), oldest, newest, true);
+        final long upper = query.getUntil() == null ? newest
+                : firstNotBefore(query.getUntil().plus(CLOCK_SLACK), lower, newest, false) - 1;
+
+        final List<Message> results = new ArrayList<>();
+        if (required.isEmpty()) {
+            for (long seq = upper; seq >= lower && results.size() < query.getLimit(); seq--) {
+                collect(seq, query, results);
+            }
+        } else {
+            SequenceList driver = required.get(0);
+            for (final SequenceList list : required) {
+                if (list.size() < driver.size()) {
+                    driver = list;
+                }
+            }
+            for (int i = driver.countAtMost(upper) - 1; i >= 0 && results.size() < query.getLimit(); i--) {
+                final long seq = driver.get(i);
+                if (seq < lower) {
+                    break;
+                }
+                if (containedInAll(seq, required, driver)) {
+                    collect(seq, query, results);
+                }
+            }
+        }
+
+        Collections.reverse(results);
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Binary searches {@code [from, to]} for the first sequence whose message is
+     * not older than {@code time}, assuming timestamps ascend with sequences.
+     *
+     * @param missingNotBefore how to treat a message that is not available, chosen
+     *                         so that the bound only ever widens the range searched
+     * @return the sequence found, or {@code to + 1} if every message is older
+     */
+    private long firstNotBefore(final Instant time, final long from, final long to, final boolean missingNotBefore) {
+        long low = from;
+        long high = to + 1;
+        while (low < high) {
+            final long mid = (low + high) >>> 1;
+            final Message message = messages.get(mid);
+            final boolean notBefore = message == null ? missingNotBefore : !message.getTimestamp().isBefore(time);
+            if (notBefore) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of distinct tokens currently indexed.
+     */
+    synchronized int tokenCount() {
+        return postings.size();
+    }
+
+    /**
+     * Splits text into lowercase tokens of letters and digits.
+     *
+     * @param text the text to tokenize
+     * @return the tokens, in order of appearance
+     */
+    static List<String> tokenize(final String text) {
+        final List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            final boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the tokens of {@code text} that any message containing it must hold
+     * as whole tokens: a leading or trailing token may be only part of a longer word.
+     */
+    private static List<String> interiorTokens(final String text) {
+        final List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return tokens;
+        }
+        final boolean partialEnd = Character.isLetterOrDigit(text.charAt(text.length() - 1));
+        final boolean partialStart = Character.isLetterOrDigit(text.charAt(0));
+        if (partialEnd) {
+            tokens.remove(tokens.size() - 1);
+        }
+        if (partialStart && !tokens.isEmpty()) {
+            tokens.remove(0);
+        }
+        return tokens;
+    }
+
+    private void collect(final long seq, final LogQuery query, final List<Message> results) {
+        final Message message = messages.get(seq);
+        if (message != null && query.matches(message)) {
+            results.add(message);
+        }
+    }
+
+    private static boolean containedInAll(final long seq, final List<SequenceList> lists, final SequenceList skip) {
+        for (final SequenceList list : lists) {
+            if (list != skip && !list.contains(seq)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void catchUp() {
+        indexedUpTo = messages.readSince(indexedUpTo, Integer.MAX_VALUE, this::add).nextSequence();
+
+        final long oldest = messages.oldestSequence();
+        if (oldest - prunedAt >= messages.capacityHint()) {
+            pruneAll(oldest);
+        }
+    }
+
+    private void add(final Message message) {
+        final long seq = message.getSequence();
+        byType.computeIfAbsent(message.getType(), k -> new SequenceList()).add(seq);
+        for (final String token : tokenize(message.getContent())) {
+            postings.computeIfAbsent(token, k -> new SequenceList()).add(seq);
+        }
+    }
+
+    private void pruneAll(final long oldest) {
+        final Iterator<SequenceList> iterator = postings.values().iterator();
+        while (iterator.hasNext()) {
+            final SequenceList list = iterator.next();
+            list.pruneBelow(oldest);
+            if (list.size() == 0) {
+                iterator.remove();
+            }
+        }
+        for (final SequenceList list : byType.values()) {
+            list.pruneBelow(oldest);
+        }
+        prunedAt = oldest;
+    }
+
+    /**
+     * Growable, ascending list of sequence numbers that can be trimmed from the front.
+     */
+    private static final class SequenceList {
+        private long[] data = new long[4];
+        private int start;
+        private int end;
+
+        void add(final long seq) {
+            // A message repeating a token is indexed once
+            if (end > start && data[end - 1] == seq) {
+                return;
+            }
+            if (end == data.length) {
+                if (start > data.length / 2) {
+                    System.arraycopy(data, start, data, 0, end - start);
+                } else {
+                    data = Arrays.copyOf(data, data.length * 2);
+                    System.arraycopy(data, start, data, 0, end - start);
+                }
+                end -= start;
+                start = 0;
+            }
+            data[end++] = seq;
+        }
+
+        void pruneBelow(final long min) {
+            while (start < end && data[start] < min) {
+                start++;
+            }
+        }
+
+        /**
+         * Returns the number of sequences not greater than {@code seq}.
+         */
+        int countAtMost(final long seq) {
+            final int index = Arrays.binarySearch(data, start, end, seq);
+            return (index >= 0 ? index + 1 : -index - 1) - start;
+        }
+
+        boolean contains(final long seq) {
+            return Arrays.binarySearch(data, start, end, seq) >= 0;
+        }
+
+        long get(final int index) {
+            return data[start + index];
+        }
+
+        int size() {
+            return end - start;
+        }
+    }
+}
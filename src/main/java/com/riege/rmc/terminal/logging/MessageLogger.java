@@ -1,62 +1,353 @@
 package com.riege.rmc.terminal.logging;
 
+import com.riege.rmc.terminal.command.bridge.JnaTerminalBackend;
 import com.riege.rmc.terminal.command.bridge.RustTerminal;
+import com.riege.rmc.terminal.command.bridge.TerminalBackend;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public final class MessageLogger {
 
-    private final int maxCapacity;
-    private final LinkedList<Message> messages;
-    private static RustTerminal rustBridge = null;
+    private final MessageStore messages;
+    private final MessageIndex index;
+    private volatile AsyncLogSink sink;
+    private volatile LogJournal journal;
+    private volatile MessageType minimumLevel = MessageType.DEBUG;
+    private volatile LogThrottle throttle;
+    private ScheduledExecutorService throttleFlusher;
+    private volatile LogPublisher publisher;
+    private final Consumer<Message> output = this::output;
+    private static volatile TerminalBackend terminal = null;
 
     public MessageLogger(final int maxCapacity) {
-        this.maxCapacity = maxCapacity;
-        this.messages = new LinkedList<>();
+        this(new MessageRingBuffer(maxCapacity));
     }
 
+    /**
+     * Creates a logger retaining its history in the given storage engine.
+     */
+    public MessageLogger(final MessageStore store) {
+        if (store == null) throw new IllegalArgumentException("Store cannot be null");
+        this.messages = store;
+        this.index = new MessageIndex(messages);
+    }
+
+    /**
+     * Routes terminal output to {@code backend}; {@code null} prints to standard output.
+     */
+    public static void setTerminal(final TerminalBackend backend) {
+        terminal = backend;
+    }
+
+    public static TerminalBackend getTerminal() {
+        return terminal;
+    }
+
+    /**
+     * @deprecated use {@link #setTerminal(TerminalBackend)}
+     */
+    @Deprecated
     public static void setRustBridge(RustTerminal bridge) {
-        rustBridge = bridge;
+        setTerminal(bridge == null ? null : new JnaTerminalBackend(bridge));
+    }
+
+    /**
+     * Sets the minimum level; messages whose type is less severe are discarded before any work is done.
+     */
+    public void setMinimumLevel(final MessageType level) {
+        if (level == null) throw new IllegalArgumentException("Level cannot be null");
+        this.minimumLevel = level;
+    }
+
+    public MessageType getMinimumLevel() {
+        return minimumLevel;
+    }
+
+    public boolean isEnabled(final MessageType type) {
+        return type.getSeverity() >= minimumLevel.getSeverity();
     }
 
     public void log(final String content, final MessageType type) {
-        if (content == null) return;
+        log(content, type, LogFields.EMPTY);
+    }
+
+    /**
+     * Logs a message carrying structured fields, e.g. for telemetry sinks.
+     */
+    public void log(final String content, final MessageType type, final LogFields fields) {
+        final Message message = store(content, type, fields);
+        if (message == null) return;
+
+        final LogThrottle currentThrottle = throttle;
+        if (currentThrottle != null) {
+            currentThrottle.admit(message, output);
+        } else {
+            output(message);
+        }
+    }
+
+    /**
+     * Records a message in the history, journal and live stream without printing it.
+     */
+    public void record(final String content, final MessageType type, final LogFields fields) {
+        store(content, type, fields);
+    }
+
+    /**
+     * Appends a message to the history and hands it to the journal and publisher.
+     *
+     * @return the stored message, or {@code null} if the type is disabled
+     */
+    private Message store(final String content, final MessageType type, final LogFields fields) {
+        if (content == null || !isEnabled(type)) return null;
+        if (fields == null) throw new IllegalArgumentException("Fields cannot be null");
+
+        final Message message = messages.append(content, type, Instant.now(), fields);
 
-        final Message message = new Message(content, type);
+        final LogJournal currentJournal = journal;
+        if (currentJournal != null) {
+            currentJournal.append(message);
+        }
+
+        final LogPublisher currentPublisher = publisher;
+        if (currentPublisher != null) {
+            currentPublisher.publish(message);
+        }
+        return message;
+    }
 
-        synchronized (messages) {
-            messages.add(message);
-            while (messages.size() > maxCapacity) {
-                messages.removeFirst();
+    private void output(final Message message) {
+        final AsyncLogSink currentSink = sink;
+        if (currentSink == null || !currentSink.enqueue(message) && !currentSink.isRunning()) {
+            printToSystemOut(message);
+        }
+    }
+
+    /**
+     * Throttles terminal output; the history and journal still receive every message.
+     * Passing {@code null} removes the throttle after printing its pending summaries.
+     * While a throttle is set, a daemon thread prints its due summaries once per window.
+     *
+     * @param throttle the throttle, or {@code null} to print every message
+     */
+    public synchronized void setThrottle(final LogThrottle throttle) {
+        final LogThrottle previous = this.throttle;
+        this.throttle = throttle;
+        if (previous == throttle) {
+            return;
+        }
+        if (throttleFlusher != null) {
+            throttleFlusher.shutdownNow();
+            throttleFlusher = null;
+        }
+        if (previous != null) {
+            previous.flush(output);
+        }
+        if (throttle != null) {
+            final long windowNanos = throttle.getWindow().toNanos();
+            throttleFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "MessageLogger-Throttle");
+                thread.setDaemon(true);
+                return thread;
+            });
+            throttleFlusher.scheduleAtFixedRate(() -> {
+                try {
+                    throttle.flushDue(output);
+                } catch (RuntimeException e) {
+                    System.err.println("Log throttle flush failed: " + e.getMessage());
+                }
+            }, windowNanos, windowNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public LogThrottle getThrottle() {
+        return throttle;
+    }
+
+    /**
+     * Returns the live message stream, creating it on first use. Subscribers
+     * see every logged message, before any output throttling.
+     *
+     * @return the publisher
+     */
+    public LogPublisher getPublisher() {
+        LogPublisher current = publisher;
+        if (current == null) {
+            synchronized (this) {
+                current = publisher;
+                if (current == null) {
+                    current = new LogPublisher(Flow.defaultBufferSize());
+                    publisher = current;
+                }
             }
         }
+        return current;
+    }
 
-        printToSystemOut(message);
+    /**
+     * Moves terminal output to a background sink thread. Subsequent log calls
+     * return as soon as the message is queued.
+     *
+     * @param queueCapacity the maximum number of queued messages
+     * @param maxBatchSize  the maximum number of messages written per flush
+     * @param lingerMillis  the maximum time a message waits for its batch to fill
+     * @param policy        the overflow policy
+     * @return the started sink
+     */
+    public synchronized AsyncLogSink enableAsyncOutput(final int queueCapacity, final int maxBatchSize,
+                                                       final long lingerMillis, final AsyncLogSink.OverflowPolicy policy) {
+        disableAsyncOutput();
+        sink = new AsyncLogSink(MessageLogger::write, queueCapacity, maxBatchSize, lingerMillis, policy);
+        return sink;
+    }
+
+    /**
+     * Flushes and stops the background sink, returning to synchronous output.
+     */
+    public synchronized void disableAsyncOutput() {
+        final LogThrottle currentThrottle = throttle;
+        if (currentThrottle != null) {
+            currentThrottle.flush(output);
+        }
+        final AsyncLogSink previous = sink;
+        sink = null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    public AsyncLogSink getAsyncSink() {
+        return sink;
+    }
+
+    /**
+     * Persists every subsequent message to {@code journal}.
+     * <p>
+     * If {@code replay} is set and nothing has been logged yet, the most recent
+     * journaled messages are restored into the history first (without being
+     * printed again) and sequence numbering continues after them.
+     * </p>
+     *
+     * @return the number of messages restored
+     * @throws IOException if the journal cannot be read
+     */
+    public synchronized int attachJournal(final LogJournal journal, final boolean replay) throws IOException {
+        if (journal == null) throw new IllegalArgumentException("Journal cannot be null");
+
+        int restored = 0;
+        if (replay && messages.nextSequence() == 0) {
+            final List<Message> history = journal.replay(messages.capacityHint());
+            if (!history.isEmpty()) {
+                // Records may be out of order on disk, so continue after the highest sequence
+                long maxSequence = -1;
+                for (final Message old : history) {
+                    maxSequence = Math.max(maxSequence, old.getSequence());
+                }
+                messages.seed(Math.max(0, maxSequence + 1 - history.size()));
+                for (final Message old : history) {
+                    messages.append(old.getContent(), old.getType(), old.getTimestamp());
+                }
+                restored = history.size();
+            }
+        }
+        journal.expect(messages.nextSequence());
+        this.journal = journal;
+        return restored;
+    }
+
+    /**
+     * Stops journaling and closes the journal.
+     */
+    public synchronized void detachJournal() {
+        final LogJournal previous = journal;
+        journal = null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    public LogJournal getJournal() {
+        return journal;
     }
     public void logPlain(String s) { log(s, MessageType.PLAIN); }
     public void info(String s) { log(s, MessageType.INFO); }
     public void error(String s) { log(s, MessageType.ERROR); }
     public void success(String s) { log(s, MessageType.SUCCESS); }
     public void debug(String s) { log(s, MessageType.DEBUG); }
+
+    /**
+     * Logs a message built by {@code supplier}, which is only invoked if the type is enabled.
+     */
+    public void log(final Supplier<String> supplier, final MessageType type) {
+        if (isEnabled(type)) log(supplier.get(), type);
+    }
+
+    /**
+     * Logs a {@link String#format} message, formatted only if the type is enabled.
+     */
+    public void log(final MessageType type, final String pattern, final Object... args) {
+        if (isEnabled(type)) log(String.format(pattern, args), type);
+    }
+
+    public void debug(Supplier<String> s) { log(s, MessageType.DEBUG); }
+    public void debug(String pattern, Object... args) { log(MessageType.DEBUG, pattern, args); }
     public void warning(String s) { log(s, MessageType.WARNING); }
-    public List<Message> getMessages() { synchronized(messages) { return new ArrayList<>(messages); } }
-    public int size() { synchronized(messages) { return messages.size(); } }
-    public boolean isEmpty() { synchronized(messages) { return messages.isEmpty(); } }
-    public void clear() { synchronized(messages) { messages.clear(); } }
-    public List<Message> getRecentMessages(int n) { synchronized(messages) { return new ArrayList<>(messages); } } // Simplifié
+    public List<Message> getMessages() { return messages.recent(Integer.MAX_VALUE); }
+    public int size() { return messages.size(); }
+    public boolean isEmpty() { return messages.size() == 0; }
+    public void clear() { messages.clear(); }
+    public MessageStore getStore() { return messages; }
+
+    /**
+     * Delivers the messages logged since {@code sequence}; see {@link MessageStore#readSince}.
+     */
+    public ReadResult readSince(final long sequence, final int max, final Consumer<Message> consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Consumer cannot be null");
+        return messages.readSince(sequence, max, consumer);
+    }
+
+    public List<Message> getRecentMessages(int n) {
+        if (n < 0) throw new IllegalArgumentException("Count cannot be negative");
+        return messages.recent(n);
+    }
+
+    /**
+     * Searches the retained messages, including any replayed from the journal.
+     *
+     * @param query the search criteria
+     * @return the most recent matches, oldest first
+     */
+    public List<Message> search(final LogQuery query) {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        return index.search(query);
+    }
 
     private void printToSystemOut(final Message message) {
-        if (rustBridge != null) {
-            String txt = message.getContent();
-            switch (message.getType()) {
-                case ERROR: rustBridge.terminal_log_error(txt); break;
-                case SUCCESS: rustBridge.terminal_log_success(txt); break;
-                default: rustBridge.terminal_log_info(txt); break;
+        write(message.getType(), message.getContent());
+    }
+
+    /**
+     * Writes text to the terminal; {@code txt} may hold several newline-separated lines of the same type.
+     */
+    private static void write(final MessageType type, final String txt) {
+        final TerminalBackend backend = terminal;
+        if (backend != null) {
+            switch (type) {
+                case ERROR: backend.logError(txt); break;
+                case SUCCESS: backend.logSuccess(txt); break;
+                default: backend.logInfo(txt); break;
             }
         } else {
-            System.out.println("[" + message.getType() + "] " + message.getContent());
+            final String prefix = "[" + type + "] ";
+            System.out.println(prefix + txt.replace("\n", "\n" + prefix));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.riege.rmc.terminal.logging;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity, lock-free, multi-producer ring buffer of messages.
+ * <p>
+ * Producers claim a sequence number with a single atomic increment and
+ * publish into slot {@code sequence % capacity}. Each message carries its own
+ * sequence, so readers validate slots without locking: a slot whose message
+ * does not carry the expected sequence is either not yet published or already
+ * overwritten, and is skipped. Appends are O(1) and never allocate beyond the
+ * message itself; snapshots of the last {@code n} messages are O(n).
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class MessageRingBuffer implements MessageStore {
+
+    private final int capacity;
+    private final AtomicReferenceArray<Message> slots;
+
+    /**
+     * Next sequence number to claim.
+     */
+    private final AtomicLong head;
+
+    /**
+     * Lowest sequence still visible; raised by {@link #clear()}.
+     */
+    private final AtomicLong floor;
+
+    public MessageRingBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.head = new AtomicLong();
+        this.floor = new AtomicLong();
+    }
+
+    @Override
+    public Message append(final String content, final MessageType type, final Instant timestamp,
+                          final LogFields fields) {
+        final Message message = new Message(content, type, claim(), timestamp, fields);
+        publish(message);
+        return message;
+    }
+
+    /**
+     * Claims the next sequence number. The caller must {@link #publish} a
+     * message carrying this sequence.
+     *
+     * @return the claimed sequence
+     */
+    long claim() {
+        return head.getAndIncrement();
+    }
+
+    /**
+     * Publishes a message into the slot of its sequence.
+     * <p>
+     * If a newer message already occupies the slot (a faster producer lapped
+     * this one), the stale message is dropped instead of overwriting it.
+     * </p>
+     *
+     * @param message the message, carrying a sequence obtained from {@link #claim()}
+     */
+    void publish(final Message message) {
+        final int index = indexOf(message.getSequence());
+        Message current;
+        do {
+            current = slots.get(index);
+            if (current != null && current.getSequence() > message.getSequence()) {
+                return;
+            }
+        } while (!slots.compareAndSet(index, current, message));
+    }
+
+    @Override
+    public List<Message> recent(final int count) {
+        final long end = head.get();
+        final long start = Math.max(Math.max(end - count, end - capacity), floor.get());
+        final List<Message> result = new ArrayList<>((int) Math.max(0, end - start));
+        for (long seq = start; seq < end; seq++) {
+            final Message message = slots.get(indexOf(seq));
+            if (message != null && message.getSequence() == seq) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Message get(final long sequence) {
+        if (sequence < floor.get()) {
+            return null;
+        }
+        final Message message = slots.get(indexOf(sequence));
+        return message != null && message.getSequence() == sequence ? message : null;
+    }
+
+    @Override
+    public long oldestSequence() {
+        return Math.max(floor.get(), head.get() - capacity);
+    }
+
+    @Override
+    public int size() {
+        final long end = head.get();
+        return (int) Math.min(capacity, Math.max(0, end - floor.get()));
+    }
+
+    /**
+     * Hides every message published so far. Slots are reclaimed lazily as new
+     * messages overwrite them.
+     */
+    @Override
+    public void clear() {
+        floor.accumulateAndGet(head.get(), Math::max);
+    }
+
+    @Override
+    public void seed(final long nextSequence) {
+        if (!head.compareAndSet(0, nextSequence)) {
+            throw new IllegalStateException("Cannot seed a ring buffer that already holds messages");
+        }
+        floor.set(nextSequence);
+    }
+
+    @Override
+    public long nextSequence() {
+        return head.get();
+    }
+
+    @Override
+    public int capacityHint() {
+        return capacity;
+    }
+
+    private int indexOf(final long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
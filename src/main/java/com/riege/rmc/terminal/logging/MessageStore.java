@@ -0,0 +1,162 @@
+package com.riege.rmc.terminal.logging;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage engine for the message history retained by a {@link MessageLogger}.
+ * <p>
+ * Every appended message receives the next sequence number of the store.
+ * Stores are bounded and silently evict their oldest messages; evicted
+ * sequences are never reused.
+ * </p>
+ * <p>
+ * Available engines:
+ * <ul>
+ *   <li>{@link MessageRingBuffer} - lock-free, bounded by message count, keeps {@link Message} objects</li>
+ *   <li>{@link PackedMessageStore} - bounded by bytes, keeps packed UTF-8 records and
+ *       materializes {@link Message} objects only on read</li>
+ * </ul>
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public interface MessageStore {
+
+    /**
+     * Appends a message timestamped now.
+     *
+     * @param content the message content
+     * @param type    the message type
+     * @return the stored message, carrying its sequence number
+     */
+    default Message append(final String content, final MessageType type) {
+        return append(content, type, Instant.now());
+    }
+
+    /**
+     * Appends a message with an explicit timestamp, e.g. when restoring history.
+     *
+     * @param content   the message content
+     * @param type      the message type
+     * @param timestamp the message timestamp
+     * @return the stored message, carrying its sequence number
+     */
+    default Message append(final String content, final MessageType type, final Instant timestamp) {
+        return append(content, type, timestamp, LogFields.EMPTY);
+    }
+
+    /**
+     * Appends a message carrying structured fields.
+     *
+     * @param content   the message content
+     * @param type      the message type
+     * @param timestamp the message timestamp
+     * @param fields    the structured fields
+     * @return the stored message, carrying its sequence number
+     */
+    Message append(String content, MessageType type, Instant timestamp, LogFields fields);
+
+    /**
+     * Returns the message with the given sequence if it is still retained.
+     *
+     * @param sequence the sequence number
+     * @return the message, or {@code null} if unknown, evicted or cleared
+     */
+    Message get(long sequence);
+
+    /**
+     * Returns the most recent messages in chronological order.
+     *
+     * @param count the maximum number of messages to return
+     * @return the most recent messages
+     */
+    List<Message> recent(int count);
+
+    /**
+     * Delivers the messages from {@code sequence} onwards, oldest first, without
+     * copying the history. Pollers keep the returned
+     * {@link ReadResult#nextSequence()} and pass it to the next call, so each
+     * poll only costs the number of new messages.
+     * <p>
+     * Messages that were evicted or cleared before they could be read are
+     * skipped and counted in {@link ReadResult#lost()}. The read stops early at
+     * a message that is still being published.
+     * </p>
+     *
+     * @param sequence the first sequence to read, usually the previous result's next sequence
+     * @param max      the maximum number of messages to deliver
+     * @param consumer receives the messages
+     * @return where to resume, how many messages were delivered and how many were lost
+     */
+    default ReadResult readSince(final long sequence, final int max, final Consumer<Message> consumer) {
+        if (sequence < 0 || max < 0) {
+            throw new IllegalArgumentException("Sequence and max cannot be negative");
+        }
+        final long oldest = oldestSequence();
+        long lost = Math.max(0, oldest - sequence);
+        long seq = Math.max(sequence, oldest);
+        final long end = nextSequence();
+        int delivered = 0;
+        while (seq < end && delivered < max) {
+            final Message message = get(seq);
+            if (message == null) {
+                if (seq >= oldestSequence()) {
+                    break;
+                }
+                // Overwritten while reading
+                lost++;
+                seq++;
+                continue;
+            }
+            consumer.accept(message);
+            delivered++;
+            seq++;
+        }
+        return new ReadResult(seq, delivered, lost);
+    }
+
+    /**
+     * Returns the sequence the next appended message will receive.
+     *
+     * @return the next sequence
+     */
+    long nextSequence();
+
+    /**
+     * Returns the lowest sequence that may still be retained.
+     *
+     * @return the oldest visible sequence
+     */
+    long oldestSequence();
+
+    /**
+     * Returns the number of messages currently retained.
+     *
+     * @return the message count
+     */
+    int size();
+
+    /**
+     * Returns the approximate maximum number of messages this store retains.
+     *
+     * @return the capacity in messages
+     */
+    int capacityHint();
+
+    /**
+     * Hides every message appended so far. Sequence numbering continues.
+     */
+    void clear();
+
+    /**
+     * Moves the sequence counter forward so the next append receives
+     * {@code nextSequence}. Only allowed while nothing has been appended.
+     *
+     * @param nextSequence the next sequence to hand out
+     * @throws IllegalStateException if messages were already appended
+     */
+    void seed(long nextSequence);
+}
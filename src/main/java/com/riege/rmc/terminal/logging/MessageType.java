@@ -2,15 +2,34 @@ package com.riege.rmc.terminal.logging;
 
 /**
  * Defines the severity or category of a main.java.com.riege.rmc.terminal message.
+ * <p>
+ * Each type has a severity used for level filtering: a message is logged only
+ * if its severity is at least the logger's minimum level.
+ * </p>
  *
  * @author riege
- * @version 1.0
+ * @version 1.1
  */
 public enum MessageType {
-    INFO,
-    ERROR,
-    SUCCESS,
-    WARNING,
-    DEBUG,
-    PLAIN
-}
\ No newline at end of file
+    INFO(1),
+    ERROR(3),
+    SUCCESS(1),
+    WARNING(2),
+    DEBUG(0),
+    PLAIN(1);
+
+    private final int severity;
+
+    MessageType(final int severity) {
+        this.severity = severity;
+    }
+
+    /**
+     * Returns the severity of this type; higher is more severe.
+     *
+     * @return the severity
+     */
+    public int getSeverity() {
+        return severity;
+    }
+}
@@ -0,0 +1,346 @@
+package com.riege.rmc.terminal.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Message store that packs messages into a single byte arena.
+ * <p>
+ * Messages are kept as compact binary records in a circular arena whose size
+ * is expressed in bytes, either on the heap (one {@code byte[]}) or off-heap
+ * (a direct buffer). Besides the arena, the only per-message state is one
+ * {@code int} offset, so retaining millions of lines adds no object graph
+ * for the garbage collector to trace. {@link Message} objects are only
+ * materialized when messages are read.
+ * </p>
+ * <p>
+ * Each record is laid out as:
+ * <pre>
+ * int   length     total record length in bytes
+ * long  sequence   logger sequence number
+ * long  timestamp  epoch time in nanoseconds
+ * byte  type       {@link MessageType} ordinal
+ * int   content    length of the content in bytes
+ * byte[] payload   UTF-8 message content, followed by the encoded {@link LogFields}, if any
+ * </pre>
+ * Fields are encoded as tagged values; integral numbers are restored as
+ * {@code Long}, floating-point numbers as {@code Double} and other numbers as
+ * strings.
+ * When the arena is full, the oldest records are evicted to make room.
+ * </p>
+ * <p>
+ * Unlike {@link MessageRingBuffer}, appends and reads serialize on the store's
+ * monitor: the critical section is a single record copy.
+ * </p>
+ *
+ * @author riege
+ * @version 1.0
+ */
+public final class PackedMessageStore implements MessageStore {
+
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES;
+    private static final int CONTENT_LENGTH_OFFSET = Integer.BYTES + Long.BYTES * 2 + Byte.BYTES;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_TRUE = 4;
+    private static final byte TAG_FALSE = 5;
+    private static final int AVERAGE_PAYLOAD_ESTIMATE = 48;
+    private static final MessageType[] TYPES = MessageType.values();
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final ByteBuffer arena;
+    private final int capacityBytes;
+
+    /**
+     * Record offsets, indexed circularly from {@code offsetHead}; entry {@code i}
+     * belongs to sequence {@code firstSequence + i}.
+     */
+    private int[] offsets;
+    private int offsetHead;
+    private int count;
+
+    private long firstSequence;
+    private long nextSequence;
+    private int tail;
+
+    /**
+     * Creates a store backed by a heap {@code byte[]} arena.
+     *
+     * @param capacityBytes the arena size in bytes
+     */
+    public PackedMessageStore(final int capacityBytes) {
+        this(capacityBytes, false);
+    }
+
+    /**
+     * Creates a store backed by a heap or off-heap arena.
+     *
+     * @param capacityBytes the arena size in bytes
+     * @param offHeap       {@code true} to allocate the arena outside the Java heap
+     * @throws IllegalArgumentException if the arena cannot hold a single record
+     */
+    public PackedMessageStore(final int capacityBytes, final boolean offHeap) {
+        if (capacityBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Capacity must be larger than " + HEADER_BYTES + " bytes");
+        }
+        this.capacityBytes = capacityBytes;
+        this.arena = offHeap ? ByteBuffer.allocateDirect(capacityBytes) : ByteBuffer.allocate(capacityBytes);
+        this.offsets = new int[Math.min(1024, capacityBytes / HEADER_BYTES)];
+    }
+
+    @Override
+    public Message append(final String content, final MessageType type, final Instant timestamp,
+                         final LogFields fields) {
+        byte[] payload = content.getBytes(StandardCharsets.UTF_8);
+        byte[] encodedFields = fields.isEmpty() ? NO_BYTES : encodeFields(fields);
+        if (payload.length + encodedFields.length > capacityBytes - HEADER_BYTES) {
+            encodedFields = NO_BYTES;
+            if (payload.length > capacityBytes - HEADER_BYTES) {
+                payload = Arrays.copyOf(payload, capacityBytes - HEADER_BYTES);
+            }
+        }
+        return store(content, type, timestamp, fields, payload, encodedFields);
+    }
+
+    private synchronized Message store(final String content, final MessageType type, final Instant timestamp,
+                                       final LogFields fields, final byte[] payload, final byte[] encodedFields) {
+        final int length = HEADER_BYTES + payload.length + encodedFields.length;
+
+        int start = tail;
+        if (start + length > capacityBytes) {
+            // Wrap: the records between the tail and the end of the arena are the oldest
+            while (count > 0 && oldestOffset() >= start) {
+                evictOldest();
+            }
+            start = 0;
+        }
+        while (count > 0 && oldestOffset() >= start && oldestOffset() < start + length) {
+            evictOldest();
+        }
+
+        final long sequence = nextSequence++;
+        arena.putInt(start, length);
+        arena.putLong(start + Integer.BYTES, sequence);
+        arena.putLong(start + Integer.BYTES + Long.BYTES, timestamp.getEpochSecond() * 1_000_000_000L + timestamp.getNano());
+        arena.put(start + Integer.BYTES + Long.BYTES * 2, (byte) type.ordinal());
+        arena.putInt(start + CONTENT_LENGTH_OFFSET, payload.length);
+        arena.put(start + HEADER_BYTES, payload);
+        arena.put(start + HEADER_BYTES + payload.length, encodedFields);
+        tail = start + length;
+
+        pushOffset(start);
+        return new Message(content, type, sequence, timestamp, encodedFields.length == 0 ? LogFields.EMPTY : fields);
+    }
+
+    @Override
+    public synchronized Message get(final long sequence) {
+        if (sequence < firstSequence || sequence >= nextSequence) {
+            return null;
+        }
+        return decode(offsetAt((int) (sequence - firstSequence)));
+    }
+
+    @Override
+    public synchronized List<Message> recent(final int count) {
+        final int n = Math.min(count, this.count);
+        final List<Message> result = new ArrayList<>(Math.max(0, n));
+        for (int i = this.count - n; i < this.count; i++) {
+            result.add(decode(offsetAt(i)));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized long nextSequence() {
+        return nextSequence;
+    }
+
+    @Override
+    public synchronized long oldestSequence() {
+        return firstSequence;
+    }
+
+    @Override
+    public synchronized int size() {
+        return count;
+    }
+
+    @Override
+    public int capacityHint() {
+        return capacityBytes / (HEADER_BYTES + AVERAGE_PAYLOAD_ESTIMATE);
+    }
+
+    /**
+     * Returns the arena size in bytes.
+     *
+     * @return the capacity in bytes
+     */
+    public int getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    @Override
+    public synchronized void clear() {
+        firstSequence = nextSequence;
+        count = 0;
+        offsetHead = 0;
+        tail = 0;
+    }
+
+    @Override
+    public synchronized void seed(final long nextSequence) {
+        if (this.nextSequence != 0) {
+            throw new IllegalStateException("Cannot seed a store that already holds messages");
+        }
+        this.nextSequence = nextSequence;
+        this.firstSequence = nextSequence;
+    }
+
+    private Message decode(final int offset) {
+        final int length = arena.getInt(offset);
+        final long sequence = arena.getLong(offset + Integer.BYTES);
+        final long timestamp = arena.getLong(offset + Integer.BYTES + Long.BYTES);
+        final MessageType type = TYPES[arena.get(offset + Integer.BYTES + Long.BYTES * 2)];
+        final int contentLength = arena.getInt(offset + CONTENT_LENGTH_OFFSET);
+
+        final String content = readString(offset + HEADER_BYTES, contentLength);
+        final int fieldsOffset = offset + HEADER_BYTES + contentLength;
+        final LogFields fields = fieldsOffset < offset + length ? decodeFields(fieldsOffset) : LogFields.EMPTY;
+        return new Message(content, type, sequence, Instant.ofEpochSecond(0, timestamp), fields);
+    }
+
+    private String readString(final int offset, final int length) {
+        if (arena.hasArray()) {
+            return new String(arena.array(), arena.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        final byte[] bytes = new byte[length];
+        arena.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encodeFields(final LogFields fields) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeShort(fields.size());
+            for (int i = 0; i < fields.size(); i++) {
+                writeBytes(out, fields.key(i).getBytes(StandardCharsets.UTF_8));
+                final Object value = fields.value(i);
+                if (value == null) {
+                    out.writeByte(TAG_NULL);
+                } else if (value instanceof Boolean b) {
+                    out.writeByte(b ? TAG_TRUE : TAG_FALSE);
+                } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    out.writeByte(TAG_LONG);
+                    out.writeLong(((Number) value).longValue());
+                } else if (value instanceof Double || value instanceof Float) {
+                    out.writeByte(TAG_DOUBLE);
+                    out.writeDouble(((Number) value).doubleValue());
+                } else {
+                    out.writeByte(TAG_STRING);
+                    writeBytes(out, value.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeBytes(final DataOutputStream out, final byte[] data) throws IOException {
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    private LogFields decodeFields(final int offset) {
+        int position = offset + Short.BYTES;
+        final int count = arena.getShort(offset) & 0xFFFF;
+        final Object[] pairs = new Object[count * 2];
+        for (int i = 0; i < count; i++) {
+            final int keyLength = arena.getInt(position);
+            pairs[i * 2] = readString(position + Integer.BYTES, keyLength);
+            position += Integer.BYTES + keyLength;
+
+            final byte tag = arena.get(position++);
+            switch (tag) {
+                case TAG_TRUE:
+                    pairs[i * 2 + 1] = Boolean.TRUE;
+                    break;
+                case TAG_FALSE:
+                    pairs[i * 2 + 1] = Boolean.FALSE;
+                    break;
+                case TAG_LONG:
+                    pairs[i * 2 + 1] = arena.getLong(position);
+                    position += Long.BYTES;
+                    break;
+                case TAG_DOUBLE:
+                    pairs[i * 2 + 1] = arena.getDouble(position);
+                    position += Long.BYTES;
+                    break;
+                case TAG_STRING:
+                    final int valueLength = arena.getInt(position);
+                    pairs[i * 2 + 1] = readString(position + Integer.BYTES, valueLength);
+                    position += Integer.BYTES + valueLength;
+                    break;
+                default:
+                    pairs[i * 2 + 1] = null;
+                    break;
+            }
+        }
+        return LogFields.of(pairs);
+    }
+
+    private int oldestOffset() {
+        return offsets[offsetHead];
+    }
+
+    private int offsetAt(final int index) {
+        return offsets[(offsetHead + index) % offsets.length];
+    }
+
+    private void evictOldest() {
+        offsetHead = (offsetHead + 1) % offsets.length;
+        count--;
+        firstSequence++;
+    }
+
+    private void pushOffset(final int offset) {
+        if (count == offsets.length) {
+            final int[] grown = new int[offsets.length * 2];
+            for (int i = 0; i < count; i++) {
+                grown[i] = offsets[(offsetHead + i) % offsets.length];
+            }
+            offsets = grown;
+            offsetHead = 0;
+        }
+        offsets[(offsetHead + count) % offsets.length] = offset;
+        count++;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PackedMessageStore{" +
+                "capacityBytes=" + capacityBytes +
+                ", messages=" + count +
+                ", usedBytes=" + usedBytes() +
+                '}';
+    }
+
+    private int usedBytes() {
+        if (count == 0) {
+            return 0;
+        }
+        final int oldest = oldestOffset();
+        return oldest < tail ? tail - oldest : capacityBytes - oldest + tail;
+    }
+}
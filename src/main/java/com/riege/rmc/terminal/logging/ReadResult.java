@@ -0,0 +1,22 @@
+package com.riege.rmc.terminal.logging;
+
+/**
+ * Outcome of an incremental read from a {@link MessageStore}.
+ *
+ * @param nextSequence the sequence to pass to the next {@code readSince} call
+ * @param delivered    the number of messages handed to the consumer
+ * @param lost         the number of requested messages that were overwritten or
+ *                     cleared before they could be read
+ *
+ * @author riege
+ * @version 1.0
+ */
+public record ReadResult(long nextSequence, int delivered, long lost) {
+
+    /**
+     * Returns whether messages were skipped because the reader fell behind.
+     */
+    public boolean hasGap() {
+        return lost > 0;
+    }
+}